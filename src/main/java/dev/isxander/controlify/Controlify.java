@@ -3,12 +3,14 @@ package dev.isxander.controlify;
 import com.mojang.blaze3d.Blaze3D;
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.bindings.BindContext;
+import dev.isxander.controlify.bindings.BindContextTracker;
 import dev.isxander.controlify.bindings.ControlifyBindApiImpl;
 import dev.isxander.controlify.bindings.ControlifyBindings;
 import dev.isxander.controlify.bindings.defaults.DefaultBindManager;
 import dev.isxander.controlify.compatibility.ControlifyCompat;
 import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.*;
+import dev.isxander.controlify.controller.dualsense.HapticBufferLibrary;
 import dev.isxander.controlify.controller.id.ControllerTypeManager;
 import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.ControllerStateView;
@@ -50,7 +52,6 @@ import org.lwjgl.glfw.GLFW;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 import static dev.isxander.controlify.utils.ControllerUtils.wrapControllerError;
 
@@ -73,7 +74,7 @@ public class Controlify implements ControlifyApi {
     private InputFontMapper inputFontMapper;
     private DefaultBindManager defaultBindManager;
     private ControllerTypeManager controllerTypeManager;
-    private Set<BindContext> thisTickContexts;
+    private final BindContextTracker bindContextTracker = new BindContextTracker();
 
     private ControllerHIDService controllerHIDService;
 
@@ -111,6 +112,7 @@ public class Controlify implements ControlifyApi {
         PlatformClientUtil.registerAssetReloadListener(inputFontMapper);
         PlatformClientUtil.registerAssetReloadListener(defaultBindManager);
         PlatformClientUtil.registerAssetReloadListener(controllerTypeManager);
+        PlatformClientUtil.registerAssetReloadListener(HapticBufferLibrary.INSTANCE);
 
         controllerHIDService = new ControllerHIDService();
         controllerHIDService.start();
@@ -485,9 +487,7 @@ public class Controlify implements ControlifyApi {
 
         boolean outOfFocus = !config().globalSettings().outOfFocusInput && !client.isWindowActive();
 
-        this.thisTickContexts = BindContext.REGISTRY.stream()
-                .filter(ctx -> ctx.isApplicable().apply(minecraft))
-                .collect(Collectors.toUnmodifiableSet());
+        this.bindContextTracker.update(minecraft);
 
         // handles updating state of all controllers
         controllerManager.tick(outOfFocus);
@@ -666,10 +666,7 @@ public class Controlify implements ControlifyApi {
         lastInputSwitchTime = Blaze3D.getTime();
 
         if (this.currentInputMode.isController()) {
-            getCurrentController().flatMap(ControllerEntity::input).ifPresent(state -> {
-                state.rawStateNow().clearState();
-                state.rawStateThen().clearState();
-            });
+            getCurrentController().flatMap(ControllerEntity::input).ifPresent(InputComponent::clearState);
             if (minecraft.getCurrentServer() != null) {
                 notifyNewServer(minecraft.getCurrentServer());
             }
@@ -723,7 +720,14 @@ public class Controlify implements ControlifyApi {
     }
 
     public Set<BindContext> thisTickBindContexts() {
-        return this.thisTickContexts;
+        return this.bindContextTracker.contexts();
+    }
+
+    /**
+     * @return the contexts that apply this tick as a mask of {@link BindContext#bit()}
+     */
+    public long thisTickBindContextMask() {
+        return this.bindContextTracker.mask();
     }
 
     public void notifyNewServer(ServerData data) {
@@ -8,6 +8,7 @@ import dev.isxander.controlify.bindings.output.AnalogueOutput;
 import dev.isxander.controlify.bindings.output.DigitalOutput;
 import dev.isxander.controlify.bindings.output.GuiPressOutput;
 import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.InputChanges;
 import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -83,7 +84,7 @@ public interface InputBinding {
     void returnStateAccess(StateAccess stateAccess);
 
     @ApiStatus.Internal
-    void pushState(ControllerStateView state);
+    void pushState(ControllerStateView state, InputChanges changes);
 
     /**
      * Emulates a tap of this binding.
@@ -161,6 +162,15 @@ public interface InputBinding {
      */
     float analoguePrev();
 
+    /**
+     * Evaluates the bound input against the newest controller sample, which may be newer than
+     * this tick's state when input is polled in the background. Intended for render-rate input
+     * such as camera movement; the binding's history is left untouched.
+     *
+     * @return the latest analogue state (0-1, never negative)
+     */
+    float analogueLatest();
+
     /**
      * Equivalent to calling
      * <pre><code>
@@ -43,11 +43,17 @@ public final class ControlifyEvents {
     public static final EventHandler<VirtualMouseToggled> VIRTUAL_MOUSE_TOGGLED = EventHandler.createPlatformBackedEvent();
 
     /**
-     * Allows you to modify the look input before it is applied to the player.
+     * Allows you to modify the look input before it is applied to the player, once per tick.
      * These modifiers are called before the look input is multiplied by the sensitivity.
      */
     public static final EventHandler<LookInputModifier> LOOK_INPUT_MODIFIER = EventHandler.createPlatformBackedEvent();
 
+    /**
+     * Like {@link #LOOK_INPUT_MODIFIER}, but called every frame with the input for that frame,
+     * still in degrees per tick. The same event object is reused for every call, so don't keep hold of it.
+     */
+    public static final EventHandler<LookInputModifier> FRAME_LOOK_INPUT_MODIFIER = EventHandler.createPlatformBackedEvent();
+
     public record ControllerConnected(ControllerEntity controller, boolean hotplugged, boolean newController) {
     }
 
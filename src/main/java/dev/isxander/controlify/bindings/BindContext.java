@@ -15,11 +15,21 @@ import net.minecraft.resources.ResourceLocation;
 
 import java.util.function.Function;
 
-public record BindContext(ResourceLocation id, Function<Minecraft, Boolean> isApplicable) {
+/**
+ * @param isApplicable whether this context applies this tick
+ * @param stable if true, {@code isApplicable} only depends on the current screen, level, player
+ *               and whether the virtual mouse is enabled, so its result can be cached until one of them changes
+ */
+public record BindContext(ResourceLocation id, Function<Minecraft, Boolean> isApplicable, boolean stable) {
     public static final Registry<BindContext> REGISTRY = new MappedRegistry<>(
             ResourceKey.createRegistryKey(CUtil.rl("bind_context")),
             Lifecycle.stable()
     );
+    public static final int MAX_CONTEXTS = Long.SIZE;
+
+    public BindContext(ResourceLocation id, Function<Minecraft, Boolean> isApplicable) {
+        this(id, isApplicable, false);
+    }
 
     public static final BindContext UNKNOWN = register(
             "unknown",
@@ -66,9 +76,34 @@ public record BindContext(ResourceLocation id, Function<Minecraft, Boolean> isAp
             mc -> mc.screen instanceof RadialMenuScreen
     );
 
-    private static BindContext register(String path, Function<Minecraft, Boolean> predicate) {
-        var context = new BindContext(CUtil.rl(path), predicate);
+    /**
+     * @return the bit of this context within a context mask, assigned from its registration order
+     */
+    public long bit() {
+        int index = REGISTRY.getId(this);
+        if (index < 0)
+            throw new IllegalStateException("Bind context " + id + " is not registered");
+        return 1L << index;
+    }
+
+    public static long mask(Iterable<BindContext> contexts) {
+        long mask = 0;
+        for (BindContext context : contexts) {
+            mask |= context.bit();
+        }
+        return mask;
+    }
+
+    public static void register(BindContext context) {
+        if (REGISTRY.size() >= MAX_CONTEXTS)
+            throw new IllegalStateException("Cannot register more than " + MAX_CONTEXTS + " bind contexts");
+
         Registry.register(REGISTRY, context.id(), context);
+    }
+
+    private static BindContext register(String path, Function<Minecraft, Boolean> predicate) {
+        var context = new BindContext(CUtil.rl(path), predicate, true);
+        register(context);
         return context;
     }
 }
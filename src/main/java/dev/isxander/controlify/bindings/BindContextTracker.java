@@ -0,0 +1,90 @@
+package dev.isxander.controlify.bindings;
+
+import dev.isxander.controlify.Controlify;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.player.LocalPlayer;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Evaluates which {@link BindContext}s apply each tick, as a bitmask of {@link BindContext#bit()}.
+ * {@link BindContext#stable() Stable} contexts are only re-evaluated when the screen, level, player
+ * or virtual mouse state changes; every other context is evaluated every tick.
+ */
+public class BindContextTracker {
+    private long mask;
+    private long stableMask;
+    private long unstableContexts;
+
+    private int cachedRegistrySize = -1;
+    private Screen cachedScreen;
+    private ClientLevel cachedLevel;
+    private LocalPlayer cachedPlayer;
+    private boolean cachedVirtualMouse;
+
+    private Set<BindContext> contextSet;
+
+    public long update(Minecraft minecraft) {
+        boolean virtualMouse = Controlify.instance().virtualMouseHandler().isVirtualMouseEnabled();
+        int registrySize = BindContext.REGISTRY.size();
+
+        if (registrySize != cachedRegistrySize
+                || minecraft.screen != cachedScreen
+                || minecraft.level != cachedLevel
+                || minecraft.player != cachedPlayer
+                || virtualMouse != cachedVirtualMouse
+        ) {
+            this.cachedRegistrySize = registrySize;
+            this.cachedScreen = minecraft.screen;
+            this.cachedLevel = minecraft.level;
+            this.cachedPlayer = minecraft.player;
+            this.cachedVirtualMouse = virtualMouse;
+
+            this.stableMask = 0;
+            this.unstableContexts = 0;
+            for (BindContext context : BindContext.REGISTRY) {
+                if (!context.stable()) {
+                    this.unstableContexts |= context.bit();
+                } else if (context.isApplicable().apply(minecraft)) {
+                    this.stableMask |= context.bit();
+                }
+            }
+        }
+
+        long mask = this.stableMask;
+        if (this.unstableContexts != 0) {
+            for (BindContext context : BindContext.REGISTRY) {
+                if (!context.stable() && context.isApplicable().apply(minecraft)) {
+                    mask |= context.bit();
+                }
+            }
+        }
+
+        if (mask != this.mask) {
+            this.contextSet = null;
+        }
+        this.mask = mask;
+        return mask;
+    }
+
+    public long mask() {
+        return this.mask;
+    }
+
+    public Set<BindContext> contexts() {
+        if (this.contextSet == null) {
+            Set<BindContext> set = new LinkedHashSet<>();
+            for (BindContext context : BindContext.REGISTRY) {
+                if ((this.mask & context.bit()) != 0) {
+                    set.add(context);
+                }
+            }
+            this.contextSet = Collections.unmodifiableSet(set);
+        }
+        return this.contextSet;
+    }
+}
@@ -8,7 +8,6 @@ import dev.isxander.controlify.bindings.output.KeyMappingEmulationOutput;
 import dev.isxander.controlify.controller.ControllerEntity;
 import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import net.minecraft.client.KeyMapping;
-import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -67,7 +66,7 @@ public class ControlifyBindApiImpl implements ControlifyBindApi {
 
     @Override
     public void registerBindContext(BindContext context) {
-        Registry.register(BindContext.REGISTRY, context.id(), context);
+        BindContext.register(context);
     }
 
     private void checkLocked() {
@@ -3,10 +3,13 @@ package dev.isxander.controlify.bindings;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.api.bind.InputBinding;
 import dev.isxander.controlify.bindings.input.Input;
+import dev.isxander.controlify.bindings.input.InputSources;
 import dev.isxander.controlify.bindings.output.*;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.input.ControllerStateView;
-import dev.isxander.controlify.utils.ResizableRingBuffer;
+import dev.isxander.controlify.controller.input.InputChanges;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.utils.FloatRingBuffer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
@@ -20,12 +23,21 @@ public class InputBindingImpl implements InputBinding {
     private final ResourceLocation id;
     private final Component name, description, category;
     private Input boundInput;
+    private InputSources boundInputSources;
+    private boolean boundInputDirty;
+    private float boundInputState;
     private final Supplier<Input> defaultBindSupplier;
     private final Set<BindContext> contexts;
+    private final long contextMask;
     private final @Nullable ResourceLocation radialIcon;
 
-    private final ResizableRingBuffer<Float> stateHistory;
+    private final FloatRingBuffer stateHistory;
     private final Set<StateAccessImpl> borrowedAccesses;
+    private final List<StateAccessImpl> pushListeners;
+    /** how many borrowed accesses require each amount of history, indexed by history */
+    private int[] historyRequirements;
+    private int maxHistoryRequirement;
+    private @Nullable InputComponent input;
 
     private boolean suppressed;
 
@@ -58,12 +70,16 @@ public class InputBindingImpl implements InputBinding {
         this.name = name;
         this.description = description;
         this.category = category;
-        this.stateHistory = new ResizableRingBuffer<>(2, () -> 0f);
-        this.boundInput = defaultBindSupplier.get();
+        this.stateHistory = new FloatRingBuffer(2, controller.input().map(input -> input.confObj().buttonActivationThreshold).orElse(0.5f));
+        this.setBoundInputInternal(defaultBindSupplier.get());
         this.defaultBindSupplier = defaultBindSupplier;
         this.contexts = contexts;
+        this.contextMask = BindContext.mask(contexts);
         this.radialIcon = radialIcon;
         this.borrowedAccesses = new HashSet<>();
+        this.pushListeners = new ArrayList<>();
+        this.historyRequirements = new int[8];
+        this.maxHistoryRequirement = 0;
 
         this.digitalOutputs = new HashMap<>();
         this.analogueOutputs = new HashMap<>();
@@ -119,6 +135,9 @@ public class InputBindingImpl implements InputBinding {
 
         StateAccessImpl access = new StateAccessImpl(historyRequired, pushEvent);
         borrowedAccesses.add(access);
+        if (pushEvent != null)
+            pushListeners.add(access);
+        this.addHistoryRequirement(historyRequired);
 
         return access;
     }
@@ -127,11 +146,11 @@ public class InputBindingImpl implements InputBinding {
     public void returnStateAccess(StateAccess stateAccess) {
         if (stateAccess instanceof StateAccessImpl accessImpl) {
             boolean removed = this.borrowedAccesses.remove(accessImpl);
+            this.pushListeners.remove(accessImpl);
             accessImpl.retire();
 
-            if (removed) {
-                OptionalInt newMaxSize = this.borrowedAccesses.stream().mapToInt(StateAccessImpl::maxHistory).max();
-                newMaxSize.ifPresent(this.stateHistory::setSize);
+            if (removed && this.removeHistoryRequirement(accessImpl.maxHistory()) > 0) {
+                this.stateHistory.setSize(this.maxHistoryRequirement);
             }
         } else {
             throw new IllegalStateException("Unknown implementation of state access");
@@ -139,15 +158,16 @@ public class InputBindingImpl implements InputBinding {
     }
 
     @Override
-    public void pushState(ControllerStateView state) {
-        if (!this.contexts.isEmpty()) {
-            Set<BindContext> thisTickContexts = Controlify.instance().thisTickBindContexts();
-            this.suppressed = this.contexts.stream().noneMatch(thisTickContexts::contains);
-        } else {
-            this.suppressed = false;
+    public void pushState(ControllerStateView state, InputChanges changes) {
+        this.suppressed = this.contextMask != 0
+                && (Controlify.instance().thisTickBindContextMask() & this.contextMask) == 0;
+
+        // idle bindings reuse last tick's input state rather than re-evaluating it
+        if (this.boundInputDirty || this.boundInputSources.hasChanged(changes)) {
+            this.boundInputState = this.boundInput.state(state);
+            this.boundInputDirty = false;
         }
-
-        float analogue = this.boundInput.state(state);
+        float analogue = this.boundInputState;
 
         switch (fakePressState) {
             case 0 -> analogue = 0;
@@ -162,7 +182,44 @@ public class InputBindingImpl implements InputBinding {
         }
 
         this.stateHistory.push(analogue);
-        borrowedAccesses.forEach(StateAccessImpl::onPush);
+        for (int i = 0; i < this.pushListeners.size(); i++) {
+            this.pushListeners.get(i).onPush();
+        }
+    }
+
+    private void addHistoryRequirement(int history) {
+        if (history >= this.historyRequirements.length) {
+            this.historyRequirements = Arrays.copyOf(this.historyRequirements, Math.max(history + 1, this.historyRequirements.length * 2));
+        }
+        this.historyRequirements[history]++;
+        this.maxHistoryRequirement = Math.max(this.maxHistoryRequirement, history);
+    }
+
+    /**
+     * @return the new max history requirement, or 0 if there are no requirements left
+     */
+    private int removeHistoryRequirement(int history) {
+        this.historyRequirements[history]--;
+
+        // only walks down when the last access holding the max was returned, bounded by the max history
+        while (this.maxHistoryRequirement > 0 && this.historyRequirements[this.maxHistoryRequirement] == 0) {
+            this.maxHistoryRequirement--;
+        }
+        return this.maxHistoryRequirement;
+    }
+
+    private InputComponent input() {
+        if (this.input == null) {
+            this.input = this.controller.input().orElseThrow();
+        }
+        return this.input;
+    }
+
+    /**
+     * Sets the analogue value above which the binding counts as pressed.
+     */
+    public void setActivationThreshold(float threshold) {
+        this.stateHistory.setThreshold(threshold);
     }
 
     @Override
@@ -172,10 +229,16 @@ public class InputBindingImpl implements InputBinding {
 
     @Override
     public void setBoundInput(Input input) {
-        this.boundInput = input;
+        this.setBoundInputInternal(input);
         Controlify.instance().config().setDirty();
     }
 
+    private void setBoundInputInternal(Input input) {
+        this.boundInput = input;
+        this.boundInputSources = InputSources.of(input);
+        this.boundInputDirty = true;
+    }
+
     @Override
     public Input boundInput() {
         return this.boundInput;
@@ -206,6 +269,14 @@ public class InputBindingImpl implements InputBinding {
         return this.analoguePrev.get();
     }
 
+    @Override
+    public float analogueLatest() {
+        if (this.suppressed)
+            return 0f;
+
+        return this.boundInput.state(this.input().latestState());
+    }
+
     @Override
     public boolean digitalNow() {
         return this.digitalNow.get();
@@ -274,12 +345,15 @@ public class InputBindingImpl implements InputBinding {
             if (!valid) throw new IllegalStateException("Tried to access state from returned access!");
             if (history > maxHistory) throw new IllegalStateException("Overflowing history!");
 
-            return InputBindingImpl.this.stateHistory.tail(history);
+            return InputBindingImpl.this.stateHistory.get(history);
         }
 
         @Override
         public boolean digital(int history) {
-            return analogue(history) > controller.input().orElseThrow().confObj().buttonActivationThreshold;
+            if (!valid) throw new IllegalStateException("Tried to access state from returned access!");
+            if (history > maxHistory) throw new IllegalStateException("Overflowing history!");
+
+            return InputBindingImpl.this.stateHistory.getDigital(history);
         }
 
         @Override
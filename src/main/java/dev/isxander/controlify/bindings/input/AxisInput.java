@@ -24,6 +24,11 @@ public record AxisInput(ResourceLocation axis) implements Input {
         return List.of(axis);
     }
 
+    @Override
+    public void collectSources(InputSources.Builder sources) {
+        sources.axis(axis);
+    }
+
     @Override
     public InputType<?> type() {
         return InputType.AXIS;
@@ -24,6 +24,11 @@ public record ButtonInput(ResourceLocation button) implements Input {
         return List.of(button);
     }
 
+    @Override
+    public void collectSources(InputSources.Builder sources) {
+        sources.button(button);
+    }
+
     @Override
     public InputType<?> type() {
         return InputType.BUTTON;
@@ -22,6 +22,11 @@ public record EmptyInput() implements Input {
         return List.of();
     }
 
+    @Override
+    public void collectSources(InputSources.Builder sources) {
+        // reads nothing, so never needs re-evaluating
+    }
+
     @Override
     public InputType<?> type() {
         return InputType.EMPTY;
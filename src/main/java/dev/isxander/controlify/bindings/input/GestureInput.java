@@ -0,0 +1,40 @@
+package dev.isxander.controlify.bindings.input;
+
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.touchpad.TouchpadGestures;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.List;
+
+/**
+ * A touchpad gesture from {@link TouchpadGestures}, read from the axis the gesture recogniser writes it to.
+ */
+public record GestureInput(ResourceLocation gesture) implements Input {
+    public static final String INPUT_ID = "gesture";
+
+    public static final MapCodec<GestureInput> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+            ResourceLocation.CODEC.fieldOf(INPUT_ID).forGetter(GestureInput::gesture)
+    ).apply(instance, GestureInput::new));
+
+    @Override
+    public float state(ControllerStateView state) {
+        return state.getAxisState(gesture);
+    }
+
+    @Override
+    public List<ResourceLocation> getRelevantInputs() {
+        return List.of(gesture);
+    }
+
+    @Override
+    public void collectSources(InputSources.Builder sources) {
+        sources.axis(gesture);
+    }
+
+    @Override
+    public InputType<?> type() {
+        return InputType.GESTURE;
+    }
+}
@@ -26,6 +26,11 @@ public record HatInput(ResourceLocation hat, HatState targetState) implements In
         return List.of(hat);
     }
 
+    @Override
+    public void collectSources(InputSources.Builder sources) {
+        sources.hat(hat);
+    }
+
     @Override
     public InputType<?> type() {
         return InputType.HAT;
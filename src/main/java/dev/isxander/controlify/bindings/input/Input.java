@@ -15,5 +15,13 @@ public interface Input {
 
     List<ResourceLocation> getRelevantInputs();
 
+    /**
+     * Declares the controller inputs that {@link #state(ControllerStateView)} reads,
+     * so it only needs to be re-evaluated when one of them changes.
+     */
+    default void collectSources(InputSources.Builder sources) {
+        sources.always();
+    }
+
     InputType<?> type();
 }
@@ -0,0 +1,89 @@
+package dev.isxander.controlify.bindings.input;
+
+import dev.isxander.controlify.controller.input.InputChanges;
+import dev.isxander.controlify.controller.input.InputSlots;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * The controller input slots an {@link Input} reads from.
+ * An input only needs re-evaluating when one of its sources has changed.
+ */
+public final class InputSources {
+    public static final InputSources NONE = new InputSources(new int[0], new int[0], new int[0], false);
+    public static final InputSources ALWAYS = new InputSources(new int[0], new int[0], new int[0], true);
+
+    private final int[] buttons, axes, hats;
+    private final boolean always;
+
+    private InputSources(int[] buttons, int[] axes, int[] hats, boolean always) {
+        this.buttons = buttons;
+        this.axes = axes;
+        this.hats = hats;
+        this.always = always;
+    }
+
+    public static InputSources of(Input input) {
+        Builder builder = new Builder();
+        input.collectSources(builder);
+        return builder.build();
+    }
+
+    public boolean hasChanged(InputChanges changes) {
+        if (always)
+            return true;
+
+        for (int button : buttons) {
+            if (changes.buttonChanged(button)) return true;
+        }
+        for (int axis : axes) {
+            if (changes.axisChanged(axis)) return true;
+        }
+        for (int hat : hats) {
+            if (changes.hatChanged(hat)) return true;
+        }
+        return false;
+    }
+
+    public static final class Builder {
+        private final IntArrayList buttons = new IntArrayList();
+        private final IntArrayList axes = new IntArrayList();
+        private final IntArrayList hats = new IntArrayList();
+        private boolean always;
+
+        private Builder() {
+        }
+
+        public Builder button(ResourceLocation button) {
+            buttons.add(InputSlots.button(button));
+            return this;
+        }
+
+        public Builder axis(ResourceLocation axis) {
+            axes.add(InputSlots.axis(axis));
+            return this;
+        }
+
+        public Builder hat(ResourceLocation hat) {
+            hats.add(InputSlots.hat(hat));
+            return this;
+        }
+
+        /**
+         * Declares that the input cannot describe its sources and must be evaluated every tick.
+         */
+        public Builder always() {
+            this.always = true;
+            return this;
+        }
+
+        private InputSources build() {
+            if (always)
+                return ALWAYS;
+            if (buttons.isEmpty() && axes.isEmpty() && hats.isEmpty())
+                return NONE;
+
+            return new InputSources(buttons.toIntArray(), axes.toIntArray(), hats.toIntArray(), false);
+        }
+    }
+}
@@ -22,6 +22,8 @@ public class GlobalSettings {
     @SerializedName("keyboardMovement") public boolean alwaysKeyboardMovement = false;
     public List<String> keyboardMovementWhitelist = new ArrayList<>();
     public boolean outOfFocusInput = false;
+    public boolean backgroundInputPolling = false;
+    public int inputPollingRate = 500;
     public boolean loadVibrationNatives = false;
     public String customVibrationNativesPath = "";
     public boolean vibrationOnboarded = false;
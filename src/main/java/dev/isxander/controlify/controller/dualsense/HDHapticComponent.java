@@ -11,13 +11,12 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.util.RandomSource;
 
-import java.util.function.Consumer;
-
 public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticComponent.Config> {
     public static final ResourceLocation ID = CUtil.rl("hd_haptics");
 
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
-    private Consumer<HapticBufferLibrary.HapticBuffer> playHapticConsumer;
+    private HapticPlayer hapticPlayer;
+    private HapticBufferLibrary.HapticFormat hapticFormat;
     private final RandomSource randomSource;
 
     public HDHapticComponent() {
@@ -25,10 +24,18 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
     }
 
     public void playHaptic(ResourceLocation haptic) {
-        if (!confObj().enabled || playHapticConsumer == null) return;
+        this.playHaptic(haptic, 1f, 0);
+    }
 
-        HapticBufferLibrary.INSTANCE.getHaptic(haptic)
-                .thenAccept(playHapticConsumer);
+    /**
+     * @param gain the multiplier applied to the haptic's samples
+     * @param priority when too many haptics play at once, lower priorities are cut off first
+     */
+    public void playHaptic(ResourceLocation haptic, float gain, int priority) {
+        if (!confObj().enabled || hapticPlayer == null) return;
+
+        HapticBufferLibrary.INSTANCE.getHaptic(haptic, hapticFormat)
+                .thenAccept(converted -> hapticPlayer.play(converted, gain, priority));
     }
 
     public void playHaptic(SoundEvent sound) {
@@ -38,8 +45,13 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
         this.playHaptic(CUtil.rl(location.getNamespace(), "sounds/" + location.getPath() + ".ogg"));
     }
 
-    public void acceptPlayHaptic(Consumer<HapticBufferLibrary.HapticBuffer> consumer) {
-        this.playHapticConsumer = consumer;
+    /**
+     * @param format the format the device plays, haptics are converted to it before reaching the consumer
+     */
+    public void acceptPlayHaptic(HapticBufferLibrary.HapticFormat format, HapticPlayer player) {
+        this.hapticFormat = format;
+        this.hapticPlayer = player;
+        HapticBufferLibrary.INSTANCE.preload(format);
     }
 
     @Override
@@ -47,7 +59,21 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
         return config;
     }
 
+    @FunctionalInterface
+    public interface HapticPlayer {
+        void play(HapticBufferLibrary.ConvertedHaptic haptic, float gain, int priority);
+    }
+
+    /**
+     * @return whether rumble should be synthesised as HD haptics instead of driving the motors
+     */
+    public boolean synthesisesRumble() {
+        return confObj().enabled && confObj().synthesiseRumble;
+    }
+
     public static class Config implements ConfigClass {
         public boolean enabled = true;
+
+        public boolean synthesiseRumble = false;
     }
 }
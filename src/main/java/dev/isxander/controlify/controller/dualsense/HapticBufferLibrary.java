@@ -1,51 +1,285 @@
 package dev.isxander.controlify.controller.dualsense;
 
 import dev.isxander.controlify.driver.sdl.DualsenseOggAudioStream;
+import dev.isxander.controlify.platform.client.resource.SimpleControlifyReloadListener;
+import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceProvider;
+import net.minecraft.util.Mth;
+import net.minecraft.util.profiling.ProfilerFiller;
 
 import javax.sound.sampled.AudioFormat;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public class HapticBufferLibrary {
-    private final Map<ResourceLocation, CompletableFuture<HapticBuffer>> bufferMap;
-    private final ResourceProvider resources;
+/**
+ * Decodes haptics and converts them to each device's format.
+ * <p>
+ * Haptics declared in {@link HapticEffects} are decoded on every resource reload and converted as
+ * soon as a device's format is known, so they play without delay; they are never evicted. Any other
+ * haptic, such as those played from sound events, is loaded on first use and kept in a
+ * least-recently-used cache of at most {@link #MAX_CACHED_BYTES}.
+ * <p>
+ * Reloading resources drops everything cached, so changed haptics are picked up.
+ */
+public class HapticBufferLibrary implements SimpleControlifyReloadListener<Map<ResourceLocation, HapticBufferLibrary.HapticBuffer>> {
+    public static final HapticBufferLibrary INSTANCE = new HapticBufferLibrary();
 
-    public static final HapticBufferLibrary INSTANCE = new HapticBufferLibrary(Minecraft.getInstance().getResourceManager());
+    /** the most memory haptics that aren't declared in {@link HapticEffects} may use */
+    public static final long MAX_CACHED_BYTES = 16L * 1024 * 1024;
 
-    private HapticBufferLibrary(ResourceProvider resources) {
-        this.bufferMap = new HashMap<>();
-        this.resources = resources;
+    // all guarded by this. in least recently used order
+    private final LinkedHashMap<ConvertedKey, CachedHaptic> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<HapticFormat> formats = new HashSet<>();
+    private Map<ResourceLocation, HapticBuffer> declared = Map.of();
+    private long cachedBytes;
+    // bumped on reload so loads from before it are ignored
+    private int generation;
+
+    private HapticBufferLibrary() {
+    }
+
+    /**
+     * Gets the haptic already converted to the device's format, converting it in the background
+     * if it isn't cached. Cached haptics complete immediately with the same buffer.
+     */
+    public synchronized CompletableFuture<ConvertedHaptic> getHaptic(ResourceLocation haptic, HapticFormat format) {
+        ConvertedKey key = new ConvertedKey(haptic, format);
+        CachedHaptic cached = cache.get(key);
+        if (cached == null) {
+            cached = load(key);
+        }
+        return cached.future;
+    }
+
+    /**
+     * Converts every declared haptic to the format ahead of its first play, and again after every reload.
+     */
+    public synchronized void preload(HapticFormat format) {
+        if (!formats.add(format))
+            return;
+
+        for (ResourceLocation haptic : declared.keySet()) {
+            getHaptic(haptic, format);
+        }
+    }
+
+    /**
+     * @return the memory used by evictable haptics that have finished loading
+     */
+    public synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    private CachedHaptic load(ConvertedKey key) {
+        HapticBuffer decoded = declared.get(key.haptic());
+        int generation = this.generation;
+
+        CompletableFuture<ConvertedHaptic> future = CompletableFuture.supplyAsync(() -> {
+            HapticBuffer buffer = decoded != null
+                    ? decoded
+                    : decode(Minecraft.getInstance().getResourceManager(), key.haptic());
+            return buffer.convertTo(key.format());
+        }, Util.backgroundExecutor());
+
+        CachedHaptic cached = new CachedHaptic(future, decoded != null);
+        // cached before the callback, which runs right away if the haptic already loaded
+        cache.put(key, cached);
+        future.whenComplete((converted, error) -> {
+            if (error != null) {
+                this.onFailed(key, cached, error);
+            } else {
+                this.onLoaded(key, cached, converted.size(), generation);
+            }
+        });
+        return cached;
+    }
+
+    private synchronized void onFailed(ConvertedKey key, CachedHaptic cached, Throwable error) {
+        CUtil.LOGGER.error("Failed to load haptic {}", key.haptic(), error);
+
+        // so the next play tries again
+        if (cache.get(key) == cached)
+            cache.remove(key);
     }
 
-    public CompletableFuture<HapticBuffer> getHaptic(ResourceLocation haptic) {
-        return bufferMap.computeIfAbsent(haptic, this::createHapticBuffer);
+    private synchronized void onLoaded(ConvertedKey key, CachedHaptic cached, int size, int generation) {
+        if (generation != this.generation || cache.get(key) != cached || cached.pinned)
+            return;
+
+        cached.bytes = size;
+        cachedBytes += size;
+
+        Iterator<CachedHaptic> iterator = cache.values().iterator();
+        while (cachedBytes > MAX_CACHED_BYTES && iterator.hasNext()) {
+            CachedHaptic entry = iterator.next();
+            // still loading haptics aren't counted yet
+            if (entry.pinned || entry.bytes == 0)
+                continue;
+
+            iterator.remove();
+            cachedBytes -= entry.bytes;
+        }
     }
 
-    private CompletableFuture<HapticBuffer> createHapticBuffer(ResourceLocation haptic) {
+    @Override
+    public CompletableFuture<Map<ResourceLocation, HapticBuffer>> load(ResourceManager manager, ProfilerFiller profiler, Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
-            try (InputStream is = resources.open(haptic)) {
-                try (DualsenseOggAudioStream stream = new DualsenseOggAudioStream(is)) {
-                    ByteBuffer audioBuf = stream.readAll();
-                    byte[] audio = new byte[audioBuf.capacity()];
-                    audioBuf.get(audio);
+            Map<ResourceLocation, HapticBuffer> declared = new HashMap<>();
+            for (ResourceLocation haptic : HapticEffects.values()) {
+                try {
+                    declared.put(haptic, decode(manager, haptic));
+                } catch (Exception e) {
+                    CUtil.LOGGER.error("Failed to load haptic {}", haptic, e);
+                }
+            }
+            return declared;
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(Map<ResourceLocation, HapticBuffer> data, ResourceManager manager, ProfilerFiller profiler, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                generation++;
+                cache.clear();
+                cachedBytes = 0;
+                declared = Map.copyOf(data);
 
-                    return new HapticBuffer(audio, stream.getFormat());
+                for (HapticFormat format : formats) {
+                    for (ResourceLocation haptic : declared.keySet()) {
+                        getHaptic(haptic, format);
+                    }
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
             }
-        }, Util.backgroundExecutor());
+        }, executor);
+    }
+
+    @Override
+    public ResourceLocation getReloadId() {
+        return CUtil.rl("haptics");
+    }
+
+    private static HapticBuffer decode(ResourceProvider resources, ResourceLocation haptic) {
+        try (InputStream is = resources.open(haptic)) {
+            try (DualsenseOggAudioStream stream = new DualsenseOggAudioStream(is)) {
+                ByteBuffer audioBuf = stream.readAll();
+                byte[] audio = new byte[audioBuf.capacity()];
+                audioBuf.get(audio);
+
+                return new HapticBuffer(audio, stream.getFormat());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public record HapticBuffer(byte[] audio, AudioFormat format) {
+        /**
+         * Resamples and remaps the audio to the target format. Extra target channels are silent.
+         */
+        public ConvertedHaptic convertTo(HapticFormat target) {
+            int srcChannels = format.getChannels();
+            int srcSampleBytes = format.getSampleSizeInBits() / 8;
+            int srcFrames = audio.length / (srcChannels * srcSampleBytes);
+            ByteBuffer src = ByteBuffer.wrap(audio)
+                    .order(format.isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+            double step = format.getSampleRate() / target.sampleRate();
+            int dstFrames = (int) Math.ceil(srcFrames / step);
+            ByteBuffer dst = ByteBuffer.allocateDirect(dstFrames * target.bytesPerFrame())
+                    .order(ByteOrder.nativeOrder());
+
+            for (int frame = 0; frame < dstFrames; frame++) {
+                // linear interpolation is plenty for motor frequencies
+                double pos = frame * step;
+                int before = Math.min((int) pos, srcFrames - 1);
+                int after = Math.min(before + 1, srcFrames - 1);
+                float delta = (float) (pos - before);
+
+                for (int channel = 0; channel < target.channels(); channel++) {
+                    float sample = 0f;
+                    if (channel < srcChannels) {
+                        sample = Mth.lerp(
+                                delta,
+                                readSample(src, (before * srcChannels + channel) * srcSampleBytes),
+                                readSample(src, (after * srcChannels + channel) * srcSampleBytes)
+                        );
+                    }
+
+                    if (target.floatSamples()) {
+                        dst.putFloat(sample);
+                    } else {
+                        dst.putShort((short) (Mth.clamp(sample, -1f, 1f) * Short.MAX_VALUE));
+                    }
+                }
+            }
+            dst.flip();
+
+            return new ConvertedHaptic(dst, target);
+        }
+
+        private float readSample(ByteBuffer src, int index) {
+            AudioFormat.Encoding encoding = format.getEncoding();
+            return switch (format.getSampleSizeInBits()) {
+                case 8 -> encoding == AudioFormat.Encoding.PCM_UNSIGNED
+                        ? ((src.get(index) & 0xFF) - 128) / 128f
+                        : src.get(index) / 128f;
+                case 16 -> src.getShort(index) / 32768f;
+                case 32 -> encoding == AudioFormat.Encoding.PCM_FLOAT
+                        ? src.getFloat(index)
+                        : src.getInt(index) / 2147483648f;
+                default -> throw new IllegalStateException("Unsupported format: " + format);
+            };
+        }
     }
 
+    /**
+     * The layout a device plays haptics in, always in native byte order.
+     *
+     * @param floatSamples 32-bit float samples if true, otherwise signed 16-bit
+     */
+    public record HapticFormat(int sampleRate, int channels, boolean floatSamples) {
+        public int bytesPerFrame() {
+            return channels * (floatSamples ? Float.BYTES : Short.BYTES);
+        }
+    }
+
+    /**
+     * A haptic ready to be handed to the device as is. The data is direct memory shared by every
+     * play and must not be modified.
+     */
+    public record ConvertedHaptic(ByteBuffer data, HapticFormat format) {
+        public int size() {
+            return data.limit();
+        }
+    }
+
+    private record ConvertedKey(ResourceLocation haptic, HapticFormat format) {
+    }
+
+    private static final class CachedHaptic {
+        private final CompletableFuture<ConvertedHaptic> future;
+        private final boolean pinned;
+        // 0 until loaded
+        private int bytes;
+
+        private CachedHaptic(CompletableFuture<ConvertedHaptic> future, boolean pinned) {
+            this.future = future;
+            this.pinned = pinned;
+        }
+    }
 }
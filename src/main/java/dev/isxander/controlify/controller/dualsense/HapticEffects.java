@@ -1,9 +1,31 @@
 package dev.isxander.controlify.controller.dualsense;
 
-import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Haptics played often enough that {@link HapticBufferLibrary} always keeps them loaded.
+ */
 public final class HapticEffects {
-    public static final ResourceLocation NAVIGATE = CUtil.rl("haptics/navigate.ogg");
+    // iterated by resource reloads in the background
+    private static final List<ResourceLocation> EFFECTS = new CopyOnWriteArrayList<>();
+
+    public static final ResourceLocation NAVIGATE = register("haptics/navigate.ogg");
+
+    public static List<ResourceLocation> values() {
+        return Collections.unmodifiableList(EFFECTS);
+    }
+
+    public static ResourceLocation register(ResourceLocation haptic) {
+        EFFECTS.add(haptic);
+        return haptic;
+    }
+
+    private static ResourceLocation register(String path) {
+        return register(CUtil.rl(path));
+    }
 }
@@ -0,0 +1,241 @@
+package dev.isxander.controlify.controller.dualsense;
+
+import dev.isxander.controlify.utils.CUtil;
+import net.minecraft.util.Mth;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixes every playing HD haptic into one persistent output, a fixed size block at a time,
+ * on its own thread.
+ * <p>
+ * Haptics are handed over through a lock-free queue, and voices are only ever touched by the
+ * mixer thread. When every voice is busy, a new haptic steals the voice of the lowest priority
+ * haptic, preferring the one closest to finishing, as long as that priority isn't higher than its own.
+ * <p>
+ * Rumble can also be {@link #synthesise(float, float) synthesised} into the mix.
+ * <p>
+ * The output is kept {@link #QUEUED_BLOCKS} blocks ahead of the device, which bounds latency to about
+ * that many blocks. While nothing plays, the thread sleeps and nothing is written.
+ */
+public final class HapticMixer {
+    public static final int BLOCK_FRAMES = 256;
+    public static final int MAX_VOICES = 8;
+    private static final int QUEUED_BLOCKS = 2;
+
+    private final HapticBufferLibrary.HapticFormat format;
+    private final Output output;
+    private final Queue<PlayRequest> requests = new ConcurrentLinkedQueue<>();
+    private final HapticSynth synth;
+
+    // owned by the mixer thread
+    private final HapticBufferLibrary.ConvertedHaptic[] voiceHaptics = new HapticBufferLibrary.ConvertedHaptic[MAX_VOICES];
+    private final int[] voicePositions = new int[MAX_VOICES];
+    private final float[] voiceGains = new float[MAX_VOICES];
+    private final int[] voicePriorities = new int[MAX_VOICES];
+    private final float[] mixBuffer;
+    private final ByteBuffer block;
+    private int activeVoices;
+
+    private final Thread thread;
+    private final long blockNanos;
+    private volatile boolean running;
+
+    public HapticMixer(HapticBufferLibrary.HapticFormat format, Output output) {
+        this.format = format;
+        this.output = output;
+        this.mixBuffer = new float[BLOCK_FRAMES * format.channels()];
+        this.block = ByteBuffer.allocateDirect(BLOCK_FRAMES * format.bytesPerFrame()).order(ByteOrder.nativeOrder());
+        this.blockNanos = TimeUnit.SECONDS.toNanos(1) * BLOCK_FRAMES / format.sampleRate();
+        this.synth = new HapticSynth(format.sampleRate());
+
+        this.running = true;
+        this.thread = new Thread(this::run, "Controlify Haptic Mixer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts playing the haptic as soon as the next block is mixed. Can be called from any thread.
+     *
+     * @param haptic a haptic converted to this mixer's format
+     * @param gain the multiplier applied to every sample
+     * @param priority higher priority haptics are never cut off by lower priority ones
+     */
+    public void play(HapticBufferLibrary.ConvertedHaptic haptic, float gain, int priority) {
+        if (!running) return;
+        if (!haptic.format().equals(format))
+            throw new IllegalArgumentException("Haptic is in " + haptic.format() + " but the mixer plays " + format);
+
+        requests.add(new PlayRequest(haptic, gain, priority));
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Synthesises rumble on top of any playing haptics, until set back to zero.
+     * Can be called from any thread.
+     *
+     * @see HapticSynth
+     */
+    public void synthesise(float strong, float weak) {
+        if (!running) return;
+
+        if (synth.setTarget(strong, weak))
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Stops mixing and waits for the thread to finish, so the output is never written after this returns.
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        int queueTarget = QUEUED_BLOCKS * block.capacity();
+
+        try {
+            while (running) {
+                startRequestedVoices();
+
+                if (!isPlaying()) {
+                    // nothing to mix, sleep until a haptic is played
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                while (isPlaying() && output.queuedBytes() < queueTarget) {
+                    mixBlock();
+                    output.write(block, block.limit());
+                    startRequestedVoices();
+                }
+
+                LockSupport.parkNanos(this, blockNanos / 2);
+            }
+        } catch (Throwable t) {
+            CUtil.LOGGER.error("Haptic mixer failed, HD haptics are disabled until the controller reconnects", t);
+            running = false;
+        }
+    }
+
+    private boolean isPlaying() {
+        return activeVoices > 0 || synth.isActive();
+    }
+
+    private void startRequestedVoices() {
+        PlayRequest request;
+        while ((request = requests.poll()) != null) {
+            int voice = findVoice(request.priority());
+            if (voice == -1)
+                continue; // everything playing is more important
+
+            if (voiceHaptics[voice] == null)
+                activeVoices++;
+
+            voiceHaptics[voice] = request.haptic();
+            voicePositions[voice] = 0;
+            voiceGains[voice] = request.gain();
+            voicePriorities[voice] = request.priority();
+        }
+    }
+
+    private int findVoice(int priority) {
+        int steal = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceHaptics[i] == null)
+                return i;
+
+            if (voicePriorities[i] > priority)
+                continue;
+
+            if (steal == -1
+                    || voicePriorities[i] < voicePriorities[steal]
+                    || (voicePriorities[i] == voicePriorities[steal] && remaining(i) < remaining(steal))) {
+                steal = i;
+            }
+        }
+        return steal;
+    }
+
+    private int remaining(int voice) {
+        return voiceHaptics[voice].size() - voicePositions[voice];
+    }
+
+    private void mixBlock() {
+        Arrays.fill(mixBuffer, 0f);
+
+        int bytesPerSample = format.floatSamples() ? Float.BYTES : Short.BYTES;
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            HapticBufferLibrary.ConvertedHaptic haptic = voiceHaptics[voice];
+            if (haptic == null) continue;
+
+            ByteBuffer data = haptic.data();
+            float gain = voiceGains[voice];
+            int position = voicePositions[voice];
+            int samples = Math.min(mixBuffer.length, (haptic.size() - position) / bytesPerSample);
+
+            for (int i = 0; i < samples; i++) {
+                int index = position + i * bytesPerSample;
+                float sample = format.floatSamples()
+                        ? data.getFloat(index)
+                        : data.getShort(index) / 32768f;
+                mixBuffer[i] += sample * gain;
+            }
+
+            position += samples * bytesPerSample;
+            if (position >= haptic.size()) {
+                voiceHaptics[voice] = null;
+                activeVoices--;
+            } else {
+                voicePositions[voice] = position;
+            }
+        }
+
+        synth.render(mixBuffer, BLOCK_FRAMES, format.channels());
+
+        block.clear();
+        for (float sample : mixBuffer) {
+            sample = Mth.clamp(sample, -1f, 1f);
+            if (format.floatSamples()) {
+                block.putFloat(sample);
+            } else {
+                block.putShort((short) (sample * Short.MAX_VALUE));
+            }
+        }
+        block.flip();
+    }
+
+    public HapticBufferLibrary.HapticFormat format() {
+        return format;
+    }
+
+    /**
+     * Where mixed blocks are written, called from the mixer thread.
+     */
+    public interface Output {
+        /**
+         * @return how many bytes have been written but not yet played
+         */
+        int queuedBytes();
+
+        /**
+         * Copies the block to the device. The block is reused for the next mix once this returns.
+         */
+        void write(ByteBuffer block, int size);
+    }
+
+    private record PlayRequest(HapticBufferLibrary.ConvertedHaptic haptic, float gain, int priority) {
+    }
+}
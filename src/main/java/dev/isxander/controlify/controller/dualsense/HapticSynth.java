@@ -0,0 +1,127 @@
+package dev.isxander.controlify.controller.dualsense;
+
+import net.minecraft.util.Mth;
+
+/**
+ * Turns the two motor magnitudes of rumble into a haptic waveform, so rumble effects can drive
+ * HD haptics without any authored audio.
+ * <ul>
+ *     <li>the strong motor becomes a low sine, felt as a deep rumble.</li>
+ *     <li>the weak motor becomes a higher sine with some noise, felt as a buzz.</li>
+ *     <li>a sharp rise in either adds a short noise impulse, so hits have an edge to them.</li>
+ * </ul>
+ * Targets may be set from any thread; everything else belongs to the {@link HapticMixer} thread.
+ * Rendering costs the same small, fixed amount per frame whatever the targets are, and no
+ * trigonometry is done per sample.
+ */
+public final class HapticSynth {
+    private static final float STRONG_HZ = 60f;
+    private static final float WEAK_HZ = 180f;
+    private static final float WEAK_NOISE = 0.25f;
+    private static final float IMPULSE_THRESHOLD = 0.25f;
+    private static final float IMPULSE_SECONDS = 0.01f;
+    private static final float SILENCE = 1e-4f;
+
+    // both targets packed as float bits so they are always read as a pair
+    private volatile long target;
+
+    private final float strongCos, strongSin, weakCos, weakSin;
+    private final float impulseDecay;
+    private float strongRe = 1f, strongIm = 0f;
+    private float weakRe = 1f, weakIm = 0f;
+    private float strong, weak, impulse;
+    private int noiseSeed = 0x2545F491;
+
+    public HapticSynth(int sampleRate) {
+        // precise trig, the table backed Mth versions would detune the oscillators
+        double strongStep = 2 * Math.PI * STRONG_HZ / sampleRate;
+        double weakStep = 2 * Math.PI * WEAK_HZ / sampleRate;
+        this.strongCos = (float) Math.cos(strongStep);
+        this.strongSin = (float) Math.sin(strongStep);
+        this.weakCos = (float) Math.cos(weakStep);
+        this.weakSin = (float) Math.sin(weakStep);
+        // falls to 1% over the impulse length
+        this.impulseDecay = (float) Math.pow(0.01, 1.0 / (IMPULSE_SECONDS * sampleRate));
+    }
+
+    /**
+     * @param strong the strong motor magnitude, 0-1
+     * @param weak the weak motor magnitude, 0-1
+     * @return whether this started the synth from silence
+     */
+    public boolean setTarget(float strong, float weak) {
+        long packed = ((long) Float.floatToIntBits(Mth.clamp(strong, 0f, 1f)) << 32)
+                | (Float.floatToIntBits(Mth.clamp(weak, 0f, 1f)) & 0xFFFFFFFFL);
+        long previous = this.target;
+        this.target = packed;
+        return previous == 0 && packed != 0;
+    }
+
+    public boolean isActive() {
+        return target != 0 || strong != 0f || weak != 0f || impulse != 0f;
+    }
+
+    /**
+     * Adds the next block of the waveform to the haptic channels of the interleaved mix.
+     */
+    public void render(float[] mix, int frames, int channels) {
+        long packed = this.target;
+        float targetStrong = Float.intBitsToFloat((int) (packed >>> 32));
+        float targetWeak = Float.intBitsToFloat((int) packed);
+        if (!isActive())
+            return;
+
+        if (targetStrong - strong > IMPULSE_THRESHOLD || targetWeak - weak > IMPULSE_THRESHOLD)
+            impulse = 1f;
+
+        // ramp to the targets over the block so changes don't click
+        float strongStep = (targetStrong - strong) / frames;
+        float weakStep = (targetWeak - weak) / frames;
+        // the DualSense takes haptics on the last two channels
+        int firstChannel = Math.max(0, channels - 2);
+
+        for (int frame = 0; frame < frames; frame++) {
+            strong += strongStep;
+            weak += weakStep;
+
+            float re = strongRe * strongCos - strongIm * strongSin;
+            strongIm = strongRe * strongSin + strongIm * strongCos;
+            strongRe = re;
+            re = weakRe * weakCos - weakIm * weakSin;
+            weakIm = weakRe * weakSin + weakIm * weakCos;
+            weakRe = re;
+
+            float noise = nextNoise();
+            float sample = strong * strongIm
+                    + weak * (weakIm * (1 - WEAK_NOISE) + noise * WEAK_NOISE)
+                    + impulse * noise;
+            impulse *= impulseDecay;
+
+            for (int channel = firstChannel; channel < channels; channel++) {
+                mix[frame * channels + channel] += sample;
+            }
+        }
+
+        strong = targetStrong;
+        weak = targetWeak;
+        if (impulse < SILENCE)
+            impulse = 0f;
+
+        // rounding slowly changes the oscillators' amplitude, pull them back to 1
+        float strongMag = Mth.sqrt(strongRe * strongRe + strongIm * strongIm);
+        strongRe /= strongMag;
+        strongIm /= strongMag;
+        float weakMag = Mth.sqrt(weakRe * weakRe + weakIm * weakIm);
+        weakRe /= weakMag;
+        weakIm /= weakMag;
+    }
+
+    private float nextNoise() {
+        int x = noiseSeed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        noiseSeed = x;
+        return (x >>> 8) / (float) (1 << 23) - 1f;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.isxander.controlify.controller.gyro;
 
+import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.serialization.ConfigClass;
 import dev.isxander.controlify.controller.serialization.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
@@ -11,15 +12,149 @@ import net.minecraft.resources.ResourceLocation;
 public class GyroComponent implements ECSComponent, ConfigHolder<GyroComponent.Config> {
     public static final ResourceLocation ID = CUtil.rl("gyro");
 
-    private GyroStateC gyroState = GyroStateC.ZERO;
+    private final GyroState gyroState = new GyroState();
+    private final GyroState rawGyroState = new GyroState();
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
 
+    private final boolean hasAccelerometer;
+
+    // guarded by this, samples may be accumulated from the input polling thread
+    private float rotationPitch, rotationYaw, rotationRoll;
+    private final GyroSensorFusion fusion = new GyroSensorFusion();
+    private final GyroState fusedVelocity = new GyroState();
+    private final GyroDriftEstimator driftEstimator = new GyroDriftEstimator();
+    private final GyroState seededCalibration = new GyroState();
+
+    public GyroComponent() {
+        this(false);
+    }
+
+    /**
+     * @param hasAccelerometer whether accelerometer samples will be provided, enabling {@link GyroSpace#PLAYER} and {@link GyroSpace#WORLD}
+     */
+    public GyroComponent(boolean hasAccelerometer) {
+        this.hasAccelerometer = hasAccelerometer;
+    }
+
+    /**
+     * @return the latest drift corrected angular velocity in radians per second, updated in place every tick
+     */
     public GyroStateC getState() {
         return this.gyroState;
     }
 
+    /**
+     * @return the latest angular velocity as reported by the controller, without any drift correction
+     */
+    public GyroStateC getRawState() {
+        return this.rawGyroState;
+    }
+
     public void setState(GyroStateC state) {
-        this.gyroState = state;
+        this.setState(state.pitch(), state.yaw(), state.roll());
+    }
+
+    /**
+     * @param pitch raw angular velocity in radians per second, drift correction is applied here
+     */
+    public synchronized void setState(float pitch, float yaw, float roll) {
+        this.rawGyroState.set(pitch, yaw, roll);
+        this.gyroState.set(
+                pitch - this.driftEstimator.biasX(),
+                yaw - this.driftEstimator.biasY(),
+                roll - this.driftEstimator.biasZ()
+        );
+    }
+
+    /**
+     * Integrates a raw angular velocity sample into the rotation travelled since the last
+     * {@link #consumeRotation(GyroState)}. Safe to call from any thread.
+     *
+     * @param seconds how long the sampled velocity was held for
+     */
+    public synchronized void accumulateRotation(float pitch, float yaw, float roll, float seconds) {
+        if (this.confObj().continuousCalibration)
+            this.driftEstimator.update(pitch, yaw, roll, false, 0, 0, 0, seconds);
+
+        this.integrate(
+                pitch - this.driftEstimator.biasX(),
+                yaw - this.driftEstimator.biasY(),
+                roll - this.driftEstimator.biasZ(),
+                seconds
+        );
+    }
+
+    /**
+     * Feeds a raw gyro and accelerometer sample through drift correction and sensor fusion,
+     * then integrates the velocity in the {@link #effectiveSpace()} into the rotation.
+     * Safe to call from any thread.
+     *
+     * @param accelX acceleration along the x-axis in m/s², including gravity, etc.
+     * @param seconds how long the sampled velocity was held for
+     */
+    public synchronized void accumulateRotation(float pitch, float yaw, float roll, float accelX, float accelY, float accelZ, float seconds) {
+        if (this.confObj().continuousCalibration)
+            this.driftEstimator.update(pitch, yaw, roll, true, accelX, accelY, accelZ, seconds);
+
+        pitch -= this.driftEstimator.biasX();
+        yaw -= this.driftEstimator.biasY();
+        roll -= this.driftEstimator.biasZ();
+
+        this.fusion.update(pitch, yaw, roll, accelX, accelY, accelZ, seconds);
+        this.fusion.transform(this.effectiveSpace(), pitch, yaw, roll, this.fusedVelocity);
+        this.integrate(this.fusedVelocity.x, this.fusedVelocity.y, this.fusedVelocity.z, seconds);
+    }
+
+    private void integrate(float pitch, float yaw, float roll, float seconds) {
+        this.rotationPitch += pitch * seconds;
+        this.rotationYaw += yaw * seconds;
+        this.rotationRoll += roll * seconds;
+    }
+
+    /**
+     * Restarts drift estimation from the configured calibration if it changed since it was last seeded,
+     * so a fresh calibration takes effect immediately but saving other settings keeps the learnt bias.
+     */
+    public synchronized void seedDriftCorrection() {
+        GyroState calibration = this.confObj().calibration;
+        if (!this.seededCalibration.equals(calibration) || !this.confObj().continuousCalibration) {
+            this.seededCalibration.set(calibration);
+            this.driftEstimator.reset(calibration);
+        }
+    }
+
+    /**
+     * @return whether drift estimation currently considers the controller at rest
+     */
+    public synchronized boolean isStill() {
+        return this.driftEstimator.isStill();
+    }
+
+    /**
+     * Forgets the current orientation estimate, e.g. when accelerometer samples resume after a gap.
+     */
+    public synchronized void resetFusion() {
+        this.fusion.reset();
+    }
+
+    /**
+     * Writes the rotation in radians travelled since the last call into {@code out} and resets it.
+     */
+    public synchronized GyroState consumeRotation(GyroState out) {
+        out.set(this.rotationPitch, this.rotationYaw, this.rotationRoll);
+        this.rotationPitch = this.rotationYaw = this.rotationRoll = 0;
+        return out;
+    }
+
+    /**
+     * @return the space rotation is accumulated in, which falls back to {@link GyroSpace#LOCAL} without an accelerometer
+     */
+    public GyroSpace effectiveSpace() {
+        return this.hasAccelerometer ? this.confObj().space : GyroSpace.LOCAL;
+    }
+
+    public boolean hasAccelerometer() {
+        return this.hasAccelerometer;
     }
 
     @Override
@@ -29,6 +164,7 @@ public class GyroComponent implements ECSComponent, ConfigHolder<GyroComponent.C
 
     public static class Config implements ConfigClass {
         public boolean calibrated = false;
+        public boolean continuousCalibration = true;
         public boolean delayedCalibration = false;
 
         public float lookSensitivity = 0f;
@@ -39,11 +175,18 @@ public class GyroComponent implements ECSComponent, ConfigHolder<GyroComponent.C
 
         public GyroYawMode yawMode = GyroYawMode.YAW;
 
+        public GyroSpace space = GyroSpace.LOCAL;
+
         public boolean flickStick = false;
 
         public boolean invertX = false;
         public boolean invertY = false;
 
         public GyroState calibration = new GyroState();
+
+        @Override
+        public void onConfigSaveLoad(ControllerEntity controller) {
+            controller.gyro().orElseThrow().seedDriftCorrection();
+        }
     }
 }
@@ -0,0 +1,121 @@
+package dev.isxander.controlify.controller.gyro;
+
+import net.minecraft.util.Mth;
+
+/**
+ * Continuously estimates the gyro's zero-rate bias whilst the controller is at rest,
+ * so drift that creeps in over a long session is corrected without recalibrating.
+ * <p>
+ * Stillness is detected from an exponentially weighted running mean and variance
+ * (an incremental Welford update) of the gyro and, when available, accelerometer samples.
+ * Only a few floats of state are kept, however long it runs.
+ */
+public class GyroDriftEstimator {
+    /** how far back the running variance looks, in seconds */
+    private static final float VARIANCE_WINDOW = 0.25f;
+    /** summed per-axis gyro variance below which the controller may be still, in (rad/s)² */
+    private static final float GYRO_STILL_VARIANCE = 0.0004f;
+    /** summed per-axis accelerometer variance below which the controller may be still, in (m/s²)² */
+    private static final float ACCEL_STILL_VARIANCE = 0.02f;
+    /** a steady rotation faster than this is a slow turn, not drift, in rad/s */
+    private static final float MAX_DRIFT = 0.1f;
+    /** how long the controller must be still before the bias is trusted, in seconds */
+    private static final float SETTLE_TIME = 0.5f;
+    /** how quickly the bias follows the still mean, in seconds */
+    private static final float BIAS_TIME = 2f;
+
+    private float biasX, biasY, biasZ;
+
+    private float gyroMeanX, gyroMeanY, gyroMeanZ;
+    private float gyroVarX, gyroVarY, gyroVarZ;
+    private float accelMeanX, accelMeanY, accelMeanZ;
+    private float accelVarX, accelVarY, accelVarZ;
+    private boolean hasSamples;
+    private float stillSeconds;
+
+    /**
+     * @param gyroX raw angular velocity around the x (pitch) axis in radians per second, etc.
+     * @param accelX acceleration along the x-axis in m/s², etc. Ignored if {@code hasAccel} is false.
+     * @param seconds time since the previous sample
+     */
+    public void update(float gyroX, float gyroY, float gyroZ, boolean hasAccel, float accelX, float accelY, float accelZ, float seconds) {
+        if (!hasSamples) {
+            gyroMeanX = gyroX;
+            gyroMeanY = gyroY;
+            gyroMeanZ = gyroZ;
+            accelMeanX = accelX;
+            accelMeanY = accelY;
+            accelMeanZ = accelZ;
+            hasSamples = true;
+            return;
+        }
+
+        float weight = 1 - (float) Math.exp(-seconds / VARIANCE_WINDOW);
+
+        float diff = gyroX - gyroMeanX;
+        gyroMeanX += weight * diff;
+        gyroVarX = (1 - weight) * (gyroVarX + weight * diff * diff);
+        diff = gyroY - gyroMeanY;
+        gyroMeanY += weight * diff;
+        gyroVarY = (1 - weight) * (gyroVarY + weight * diff * diff);
+        diff = gyroZ - gyroMeanZ;
+        gyroMeanZ += weight * diff;
+        gyroVarZ = (1 - weight) * (gyroVarZ + weight * diff * diff);
+
+        boolean still = gyroVarX + gyroVarY + gyroVarZ < GYRO_STILL_VARIANCE;
+
+        if (hasAccel) {
+            diff = accelX - accelMeanX;
+            accelMeanX += weight * diff;
+            accelVarX = (1 - weight) * (accelVarX + weight * diff * diff);
+            diff = accelY - accelMeanY;
+            accelMeanY += weight * diff;
+            accelVarY = (1 - weight) * (accelVarY + weight * diff * diff);
+            diff = accelZ - accelMeanZ;
+            accelMeanZ += weight * diff;
+            accelVarZ = (1 - weight) * (accelVarZ + weight * diff * diff);
+
+            still &= accelVarX + accelVarY + accelVarZ < ACCEL_STILL_VARIANCE;
+        }
+
+        // a slow, steady turn has little variance too, so only small rates can be drift
+        still &= gyroMeanX * gyroMeanX + gyroMeanY * gyroMeanY + gyroMeanZ * gyroMeanZ < MAX_DRIFT * MAX_DRIFT;
+
+        stillSeconds = still ? stillSeconds + seconds : 0;
+        if (stillSeconds >= SETTLE_TIME) {
+            float alpha = 1 - (float) Math.exp(-seconds / BIAS_TIME);
+            biasX = Mth.lerp(alpha, biasX, gyroMeanX);
+            biasY = Mth.lerp(alpha, biasY, gyroMeanY);
+            biasZ = Mth.lerp(alpha, biasZ, gyroMeanZ);
+        }
+    }
+
+    /**
+     * Starts over from a known bias, e.g. one measured by the calibration screen.
+     */
+    public void reset(GyroStateC bias) {
+        biasX = bias.pitch();
+        biasY = bias.yaw();
+        biasZ = bias.roll();
+        hasSamples = false;
+        stillSeconds = 0;
+        gyroVarX = gyroVarY = gyroVarZ = 0;
+        accelVarX = accelVarY = accelVarZ = 0;
+    }
+
+    public boolean isStill() {
+        return stillSeconds >= SETTLE_TIME;
+    }
+
+    public float biasX() {
+        return biasX;
+    }
+
+    public float biasY() {
+        return biasY;
+    }
+
+    public float biasZ() {
+        return biasZ;
+    }
+}
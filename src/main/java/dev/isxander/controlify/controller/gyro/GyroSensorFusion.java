@@ -0,0 +1,100 @@
+package dev.isxander.controlify.controller.gyro;
+
+import net.minecraft.util.Mth;
+
+/**
+ * A complementary filter tracking which way is up in controller space. The gyro keeps the
+ * estimate responsive, and the accelerometer slowly pulls it back towards gravity to cancel drift.
+ */
+public class GyroSensorFusion {
+    /** SDL reports acceleration in m/s², including gravity, pointing away from the earth at rest */
+    private static final float STANDARD_GRAVITY = 9.80665f;
+    /** how quickly the estimate converges on the accelerometer, in seconds */
+    private static final float CORRECTION_TIME = 0.5f;
+    /** how far acceleration may stray from gravity before it is ignored, as a fraction of gravity */
+    private static final float SHAKE_TOLERANCE = 0.25f;
+    /** how much player space yaw may exceed the raw rotation around the up axis, see JoyShockMapper */
+    private static final float YAW_RELAX_FACTOR = 1.41f;
+
+    private float upX, upY = 1, upZ;
+    private boolean hasGravity;
+
+    /**
+     * @param gyroX angular velocity around the x (pitch) axis in radians per second, etc.
+     * @param accelX acceleration along the x-axis in m/s², etc.
+     * @param seconds time since the previous sample
+     */
+    public void update(float gyroX, float gyroY, float gyroZ, float accelX, float accelY, float accelZ, float seconds) {
+        float accelLength = Mth.sqrt(accelX * accelX + accelY * accelY + accelZ * accelZ);
+        if (accelLength < 1e-4f)
+            return;
+
+        float ax = accelX / accelLength;
+        float ay = accelY / accelLength;
+        float az = accelZ / accelLength;
+
+        if (!hasGravity) {
+            upX = ax;
+            upY = ay;
+            upZ = az;
+            hasGravity = true;
+            return;
+        }
+
+        // up is fixed in the world, so in controller space it turns opposite to the controller
+        float x = upX - (gyroY * upZ - gyroZ * upY) * seconds;
+        float y = upY - (gyroZ * upX - gyroX * upZ) * seconds;
+        float z = upZ - (gyroX * upY - gyroY * upX) * seconds;
+
+        // trust the accelerometer less the further it is from pure gravity, i.e. while shaking
+        float trust = 1 - Math.min(Math.abs(accelLength - STANDARD_GRAVITY) / (STANDARD_GRAVITY * SHAKE_TOLERANCE), 1);
+        float alpha = trust * (1 - (float) Math.exp(-seconds / CORRECTION_TIME));
+        x += (ax - x) * alpha;
+        y += (ay - y) * alpha;
+        z += (az - z) * alpha;
+
+        float length = Mth.sqrt(x * x + y * y + z * z);
+        if (length > 1e-4f) {
+            upX = x / length;
+            upY = y / length;
+            upZ = z / length;
+        }
+    }
+
+    /**
+     * Converts a controller space angular velocity into pitch and yaw in the given space.
+     * Roll is always zero for player and world space.
+     */
+    public void transform(GyroSpace space, float gyroX, float gyroY, float gyroZ, GyroState out) {
+        switch (space) {
+            case LOCAL -> out.set(gyroX, gyroY, gyroZ);
+            case PLAYER -> {
+                // yaw around the up axis, relaxed towards the combined yaw and roll magnitude
+                float worldYaw = gyroY * upY + gyroZ * upZ;
+                float maxYaw = Mth.sqrt(gyroY * gyroY + gyroZ * gyroZ);
+                float yaw = Math.copySign(Math.min(Math.abs(worldYaw) * YAW_RELAX_FACTOR, maxYaw), worldYaw);
+                out.set(gyroX, yaw, 0);
+            }
+            case WORLD -> {
+                float yaw = gyroX * upX + gyroY * upY + gyroZ * upZ;
+
+                // pitch around the horizontal axis closest to the controller's own pitch axis
+                float pitchX = 1 - upX * upX;
+                float pitchY = -upX * upY;
+                float pitchZ = -upX * upZ;
+                float pitchLength = Mth.sqrt(pitchX * pitchX + pitchY * pitchY + pitchZ * pitchZ);
+                float pitch = pitchLength > 1e-4f
+                        ? (gyroX * pitchX + gyroY * pitchY + gyroZ * pitchZ) / pitchLength
+                        : 0;
+                out.set(pitch, yaw, 0);
+            }
+        }
+    }
+
+    public void reset() {
+        upX = 0;
+        upY = 1;
+        upZ = 0;
+        hasGravity = false;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.isxander.controlify.controller.gyro;
+
+import dev.isxander.yacl3.api.NameableEnum;
+import net.minecraft.network.chat.Component;
+
+public enum GyroSpace implements NameableEnum {
+    /** Raw controller axes, yaw and roll are picked by {@link GyroYawMode}. */
+    LOCAL,
+    /** Yaw follows the player's up axis, forgiving of how the controller is held. Requires an accelerometer. */
+    PLAYER,
+    /** Yaw and pitch follow the real world's up axis, whatever the controller's orientation. Requires an accelerometer. */
+    WORLD;
+
+    public boolean requiresGravity() {
+        return this != LOCAL;
+    }
+
+    @Override
+    public Component getDisplayName() {
+        return Component.translatable("controlify.gyro_space." + this.name().toLowerCase());
+    }
+}
@@ -0,0 +1,350 @@
+package dev.isxander.controlify.controller.impl;
+
+import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputSlots;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.IntFunction;
+
+/**
+ * A controller state backed by primitive arrays indexed by {@link InputSlots}.
+ */
+public class DenseControllerState implements ModifiableControllerState {
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private long[] buttons;
+    private long[] presentButtons;
+
+    private float[] axes;
+    private float[] restingAxes;
+    private long[] presentAxes;
+
+    private byte[] hats;
+    private long[] presentHats;
+
+    private Set<ResourceLocation> buttonSet, axisSet, hatSet;
+
+    public DenseControllerState() {
+        this.buttons = new long[words(InputSlots.buttonCount())];
+        this.presentButtons = new long[this.buttons.length];
+
+        this.axes = new float[Math.max(InputSlots.axisCount(), 1)];
+        this.restingAxes = new float[this.axes.length];
+        this.presentAxes = new long[words(this.axes.length)];
+
+        this.hats = new byte[Math.max(InputSlots.hatCount(), 1)];
+        this.presentHats = new long[words(this.hats.length)];
+    }
+
+    /**
+     * @return the number of axis slots currently backed by this state, all of which are safe to read
+     */
+    public int axisSlots() {
+        return axes.length;
+    }
+
+    public int hatSlots() {
+        return hats.length;
+    }
+
+    /**
+     * @return the number of 64-button words backing this state
+     */
+    public int buttonWords() {
+        return buttons.length;
+    }
+
+    /**
+     * @return a word of 64 button states, bit {@code n} being slot {@code word * 64 + n}
+     */
+    public long buttonWord(int word) {
+        return word < buttons.length ? buttons[word] : 0L;
+    }
+
+    public boolean isButtonDown(int slot) {
+        int word = slot >>> 6;
+        return word < buttons.length && (buttons[word] & (1L << slot)) != 0;
+    }
+
+    public float getAxisState(int slot) {
+        return slot < axes.length ? axes[slot] : 0f;
+    }
+
+    public float getAxisResting(int slot) {
+        return slot < restingAxes.length ? restingAxes[slot] : 0f;
+    }
+
+    public HatState getHatState(int slot) {
+        return slot < hats.length ? HAT_STATES[hats[slot]] : HatState.CENTERED;
+    }
+
+    public void setButton(int slot, boolean value) {
+        int word = slot >>> 6;
+        if (word >= buttons.length) {
+            int newLength = words(slot + 1);
+            buttons = Arrays.copyOf(buttons, newLength);
+            presentButtons = Arrays.copyOf(presentButtons, newLength);
+        }
+
+        long bit = 1L << slot;
+        if (value) {
+            buttons[word] |= bit;
+        } else {
+            buttons[word] &= ~bit;
+        }
+
+        if ((presentButtons[word] & bit) == 0) {
+            presentButtons[word] |= bit;
+            buttonSet = null;
+        }
+    }
+
+    public void setAxis(int slot, float value) {
+        if (slot >= axes.length) {
+            int newLength = Math.max(slot + 1, axes.length * 2);
+            axes = Arrays.copyOf(axes, newLength);
+            restingAxes = Arrays.copyOf(restingAxes, newLength);
+            presentAxes = Arrays.copyOf(presentAxes, words(newLength));
+        }
+
+        axes[slot] = value;
+
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if ((presentAxes[word] & bit) == 0) {
+            presentAxes[word] |= bit;
+            axisSet = null;
+        }
+    }
+
+    public void setRestingAxis(int slot, float value) {
+        if (!isPresent(presentAxes, slot))
+            throw new IllegalArgumentException("Cannot set resting axis for axis that doesn't exist");
+
+        restingAxes[slot] = value;
+    }
+
+    public void setHat(int slot, HatState value) {
+        if (slot >= hats.length) {
+            int newLength = Math.max(slot + 1, hats.length * 2);
+            hats = Arrays.copyOf(hats, newLength);
+            presentHats = Arrays.copyOf(presentHats, words(newLength));
+        }
+
+        hats[slot] = (byte) value.ordinal();
+
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if ((presentHats[word] & bit) == 0) {
+            presentHats[word] |= bit;
+            hatSet = null;
+        }
+    }
+
+    @Override
+    public boolean isButtonDown(ResourceLocation button) {
+        int slot = InputSlots.lookupButton(button);
+        return slot != InputSlots.NONE && isButtonDown(slot);
+    }
+
+    @Override
+    public Set<ResourceLocation> getButtons() {
+        if (buttonSet == null) {
+            buttonSet = collectPresent(presentButtons, InputSlots::buttonId);
+        }
+        return buttonSet;
+    }
+
+    @Override
+    public float getAxisState(ResourceLocation axis) {
+        int slot = InputSlots.lookupAxis(axis);
+        return slot != InputSlots.NONE ? getAxisState(slot) : 0f;
+    }
+
+    @Override
+    public Set<ResourceLocation> getAxes() {
+        if (axisSet == null) {
+            axisSet = collectPresent(presentAxes, InputSlots::axisId);
+        }
+        return axisSet;
+    }
+
+    @Override
+    public float getAxisResting(ResourceLocation axis) {
+        int slot = InputSlots.lookupAxis(axis);
+        return slot != InputSlots.NONE ? getAxisResting(slot) : 0f;
+    }
+
+    @Override
+    public HatState getHatState(ResourceLocation hat) {
+        int slot = InputSlots.lookupHat(hat);
+        return slot != InputSlots.NONE ? getHatState(slot) : HatState.CENTERED;
+    }
+
+    @Override
+    public Set<ResourceLocation> getHats() {
+        if (hatSet == null) {
+            hatSet = collectPresent(presentHats, InputSlots::hatId);
+        }
+        return hatSet;
+    }
+
+    @Override
+    public void setButton(ResourceLocation button, boolean value) {
+        setButton(InputSlots.button(button), value);
+    }
+
+    @Override
+    public void setAxis(ResourceLocation axis, float value) {
+        setAxis(InputSlots.axis(axis), value);
+    }
+
+    public void setRestingAxis(ResourceLocation axis, float value) {
+        int slot = InputSlots.lookupAxis(axis);
+        if (slot == InputSlots.NONE)
+            throw new IllegalArgumentException("Cannot set resting axis for axis that doesn't exist");
+
+        setRestingAxis(slot, value);
+    }
+
+    @Override
+    public void setHat(ResourceLocation hat, HatState value) {
+        setHat(InputSlots.hat(hat), value);
+    }
+
+    @Override
+    public void clearState() {
+        Arrays.fill(this.buttons, 0L);
+        Arrays.fill(this.presentButtons, 0L);
+        Arrays.fill(this.axes, 0f);
+        Arrays.fill(this.restingAxes, 0f);
+        Arrays.fill(this.presentAxes, 0L);
+        Arrays.fill(this.hats, (byte) 0);
+        Arrays.fill(this.presentHats, 0L);
+
+        this.buttonSet = this.axisSet = this.hatSet = null;
+    }
+
+    /**
+     * Overwrites this state with the contents of another, reusing the backing arrays
+     * where they are already large enough.
+     */
+    public void copyFrom(ControllerStateView other) {
+        if (!(other instanceof DenseControllerState dense)) {
+            this.clearState();
+            for (ResourceLocation button : other.getButtons()) {
+                this.setButton(button, other.isButtonDown(button));
+            }
+            for (ResourceLocation axis : other.getAxes()) {
+                this.setAxis(axis, other.getAxisState(axis));
+                this.setRestingAxis(axis, other.getAxisResting(axis));
+            }
+            for (ResourceLocation hat : other.getHats()) {
+                this.setHat(hat, other.getHatState(hat));
+            }
+            return;
+        }
+
+        if (!Arrays.equals(this.presentButtons, dense.presentButtons))
+            this.buttonSet = dense.buttonSet;
+        if (!Arrays.equals(this.presentAxes, dense.presentAxes))
+            this.axisSet = dense.axisSet;
+        if (!Arrays.equals(this.presentHats, dense.presentHats))
+            this.hatSet = dense.hatSet;
+
+        this.buttons = copyInto(dense.buttons, this.buttons);
+        this.presentButtons = copyInto(dense.presentButtons, this.presentButtons);
+        this.axes = copyInto(dense.axes, this.axes);
+        this.restingAxes = copyInto(dense.restingAxes, this.restingAxes);
+        this.presentAxes = copyInto(dense.presentAxes, this.presentAxes);
+        this.hats = copyInto(dense.hats, this.hats);
+        this.presentHats = copyInto(dense.presentHats, this.presentHats);
+    }
+
+    /**
+     * Accumulates this state's pressed buttons into {@code latched}, then marks every
+     * latched button as pressed in this state.
+     *
+     * @return the latch, grown if this state has more button words than it
+     */
+    public long[] latchButtons(long[] latched) {
+        if (latched.length < buttons.length)
+            latched = Arrays.copyOf(latched, buttons.length);
+
+        for (int word = 0; word < buttons.length; word++) {
+            latched[word] |= buttons[word];
+            buttons[word] |= latched[word] & presentButtons[word];
+        }
+        return latched;
+    }
+
+    public String toDebugString() {
+        StringJoiner axes = new StringJoiner(",");
+        for (ResourceLocation axis : getAxes()) {
+            axes.add(axis + "=" + getAxisState(axis));
+        }
+        StringJoiner buttons = new StringJoiner(",");
+        for (ResourceLocation button : getButtons()) {
+            buttons.add(button + "=" + isButtonDown(button));
+        }
+        StringJoiner hats = new StringJoiner(",");
+        for (ResourceLocation hat : getHats()) {
+            hats.add(hat + "=" + getHatState(hat));
+        }
+
+        return "ControllerState{axes:%s,buttons:%s,hats:%s}".formatted(axes, buttons, hats);
+    }
+
+    private static Set<ResourceLocation> collectPresent(long[] present, IntFunction<ResourceLocation> idLookup) {
+        Set<ResourceLocation> set = new LinkedHashSet<>();
+        for (int word = 0; word < present.length; word++) {
+            long bits = present[word];
+            while (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                set.add(idLookup.apply(slot));
+                bits &= bits - 1;
+            }
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    private static long[] copyInto(long[] src, long[] dst) {
+        if (dst.length < src.length)
+            return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, 0L);
+        return dst;
+    }
+
+    private static float[] copyInto(float[] src, float[] dst) {
+        if (dst.length < src.length)
+            return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, 0f);
+        return dst;
+    }
+
+    private static byte[] copyInto(byte[] src, byte[] dst) {
+        if (dst.length < src.length)
+            return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, (byte) 0);
+        return dst;
+    }
+
+    private static boolean isPresent(long[] present, int slot) {
+        int word = slot >>> 6;
+        return word < present.length && (present[word] & (1L << slot)) != 0;
+    }
+
+    private static int words(int bits) {
+        return Math.max((bits + 63) >>> 6, 1);
+    }
+}
@@ -0,0 +1,136 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+import dev.isxander.controlify.utils.ControllerUtils;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Deadzones of every axis resolved to primitive tables indexed by {@link InputSlots axis slot}.
+ * Groups of four axes (up, down, left, right) are treated as a stick and processed as an X/Y pair,
+ * which is what allows radial deadzones. Every other axis gets an axial deadzone.
+ */
+public final class CompiledDeadzones {
+    public static final CompiledDeadzones NONE = new CompiledDeadzones(new float[0], new int[0], new float[0], DeadzoneMode.AXIAL);
+
+    private static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3;
+
+    private final float[] axisDeadzones;
+    private final int[] stickSlots;
+    private final float[] stickDeadzones;
+    private final DeadzoneMode mode;
+
+    private CompiledDeadzones(float[] axisDeadzones, int[] stickSlots, float[] stickDeadzones, DeadzoneMode mode) {
+        this.axisDeadzones = axisDeadzones;
+        this.stickSlots = stickSlots;
+        this.stickDeadzones = stickDeadzones;
+        this.mode = mode;
+    }
+
+    public static CompiledDeadzones compile(Collection<DeadzoneGroup> groups, Map<ResourceLocation, Float> deadzones, DeadzoneMode mode) {
+        float[] axisDeadzones = new float[InputSlots.axisCount()];
+        boolean[] assigned = new boolean[axisDeadzones.length];
+        int[] stickSlots = new int[groups.size() * 4];
+        float[] stickDeadzones = new float[groups.size()];
+        int stickCount = 0;
+
+        for (DeadzoneGroup group : groups) {
+            Float groupDeadzone = deadzones.get(group.name());
+            float deadzone = groupDeadzone != null ? groupDeadzone : 0f;
+
+            int[] slots = new int[group.axes().size()];
+            boolean claimedByEarlierGroup = false;
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = InputSlots.axis(group.axes().get(i));
+                if (slots[i] < assigned.length && assigned[slots[i]])
+                    claimedByEarlierGroup = true;
+            }
+
+            if (mode != DeadzoneMode.AXIAL && slots.length == 4 && !claimedByEarlierGroup) {
+                System.arraycopy(slots, 0, stickSlots, stickCount * 4, 4);
+                stickDeadzones[stickCount] = deadzone;
+                stickCount++;
+            }
+
+            for (int slot : slots) {
+                if (slot >= axisDeadzones.length) {
+                    axisDeadzones = Arrays.copyOf(axisDeadzones, slot + 1);
+                    assigned = Arrays.copyOf(assigned, slot + 1);
+                }
+
+                // first group to claim an axis wins
+                if (!assigned[slot]) {
+                    assigned[slot] = true;
+                    axisDeadzones[slot] = deadzone;
+                }
+            }
+        }
+
+        return new CompiledDeadzones(
+                axisDeadzones,
+                Arrays.copyOf(stickSlots, stickCount * 4),
+                Arrays.copyOf(stickDeadzones, stickCount),
+                mode
+        );
+    }
+
+    /**
+     * Writes the deadzoned value of every axis of {@code state} into {@code out}.
+     * @param out must be at least {@link DenseControllerState#axisSlots()} long
+     */
+    public void apply(DenseControllerState state, float[] out) {
+        int axisCount = state.axisSlots();
+        for (int slot = 0; slot < axisCount; slot++) {
+            float rawAxis = state.getAxisState(slot);
+            float deadzone = slot < axisDeadzones.length ? axisDeadzones[slot] : 0f;
+
+            out[slot] = deadzone > 0 ? ControllerUtils.deadzone(rawAxis, deadzone) : rawAxis;
+        }
+
+        // sticks overwrite the axial result of their axes
+        for (int stick = 0; stick < stickDeadzones.length; stick++) {
+            int base = stick * 4;
+            int up = stickSlots[base + UP], down = stickSlots[base + DOWN];
+            int left = stickSlots[base + LEFT], right = stickSlots[base + RIGHT];
+
+            float x = state.getAxisState(right) - state.getAxisState(left);
+            float y = state.getAxisState(down) - state.getAxisState(up);
+            float deadzone = stickDeadzones[stick];
+
+            float magnitude = (float) Math.sqrt(x * x + y * y);
+            float scale;
+            if (magnitude <= deadzone || magnitude == 0) {
+                scale = 0;
+            } else {
+                scale = switch (mode) {
+                    case RADIAL -> 1;
+                    case SCALED_RADIAL, HYBRID -> Math.min((magnitude - deadzone) / (1 - deadzone), 1) / magnitude;
+                    case AXIAL -> throw new IllegalStateException("Axial deadzones are not processed as sticks");
+                };
+            }
+            x *= scale;
+            y *= scale;
+
+            if (mode == DeadzoneMode.HYBRID && scale != 0) {
+                // a further axial pass, scaled so it only snaps near the cardinals
+                float axialDeadzone = deadzone * 0.5f;
+                x = ControllerUtils.deadzone(x, axialDeadzone);
+                y = ControllerUtils.deadzone(y, axialDeadzone);
+            }
+
+            writeIfInBounds(out, up, Math.max(-y, 0));
+            writeIfInBounds(out, down, Math.max(y, 0));
+            writeIfInBounds(out, left, Math.max(-x, 0));
+            writeIfInBounds(out, right, Math.max(x, 0));
+        }
+    }
+
+    private static void writeIfInBounds(float[] out, int slot, float value) {
+        if (slot < out.length) {
+            out[slot] = value;
+        }
+    }
+}
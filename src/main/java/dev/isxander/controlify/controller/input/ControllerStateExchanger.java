@@ -0,0 +1,131 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free single-producer/single-consumer triple buffer of controller states.
+ * The producer (the input polling thread) writes samples as fast as it likes and the
+ * consumer (the client thread) always picks up the newest one, without either side
+ * ever blocking or allocating.
+ * <p>
+ * Buttons pressed in any sample since the consumer last ticked stay pressed in the
+ * published snapshot, so taps shorter than a client tick are never lost. The producer only
+ * lets go of them once it sees the consumer acquired the snapshot holding them; if a newer
+ * sample was published in the meantime, they stay pressed for another tick instead.
+ */
+public class ControllerStateExchanger {
+    private static final int FRESH = 0b100;
+    private static final int INDEX = 0b011;
+
+    private final DenseControllerState[] buffers;
+    /** index of the shared buffer, with {@link #FRESH} set if the producer published it since the last swap */
+    private final AtomicInteger middle;
+    /** the sequence of the snapshot the consumer last acquired */
+    private volatile long acquiredSequence;
+    private volatile boolean active;
+
+    // written by the producer before publishing a buffer, read by the consumer once it is the front
+    private final long[] sequences = new long[3];
+
+    // producer owned
+    private int back;
+    private long[] latchedButtons;
+    private long publishedSequence;
+
+    // consumer owned
+    private int front;
+    private long frontSequence;
+
+    public ControllerStateExchanger() {
+        this.buffers = new DenseControllerState[] {
+                new DenseControllerState(),
+                new DenseControllerState(),
+                new DenseControllerState()
+        };
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+        this.latchedButtons = new long[1];
+    }
+
+    /**
+     * Producer side. The returned state holds a stale sample and must be fully overwritten
+     * before calling {@link #publish()}.
+     */
+    public DenseControllerState beginWrite() {
+        return buffers[back];
+    }
+
+    /**
+     * Producer side. Makes the state returned by {@link #beginWrite()} visible to the consumer.
+     */
+    public void publish() {
+        DenseControllerState state = buffers[back];
+
+        // everything latched so far reached the consumer
+        if (acquiredSequence == publishedSequence) {
+            Arrays.fill(latchedButtons, 0L);
+        }
+        latchedButtons = state.latchButtons(latchedButtons);
+
+        sequences[back] = ++publishedSequence;
+        back = middle.getAndSet(back | FRESH) & INDEX;
+
+        if (!active) active = true;
+    }
+
+    /**
+     * Consumer side, once per client tick. Takes the newest snapshot and lets the producer
+     * start latching presses afresh.
+     *
+     * @return the newest snapshot, which stays valid until the next acquire or peek
+     */
+    public DenseControllerState acquire() {
+        DenseControllerState state = swapFront();
+        acquiredSequence = sequences[front];
+        return state;
+    }
+
+    /**
+     * Consumer side, as often as needed between ticks (e.g. every frame).
+     * Unlike {@link #acquire()}, presses latched for the next tick are left untouched.
+     *
+     * @return the newest snapshot, which stays valid until the next acquire or peek
+     */
+    public DenseControllerState peek() {
+        return swapFront();
+    }
+
+    private DenseControllerState swapFront() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+            frontSequence++;
+        }
+        return buffers[front];
+    }
+
+    /**
+     * Consumer side.
+     * @return a number that changes whenever {@link #acquire()} or {@link #peek()} moves to a newer snapshot
+     */
+    public long frontSequence() {
+        return frontSequence;
+    }
+
+    /**
+     * @return whether a producer has published since the exchanger was last deactivated
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Called once the producer has stopped, so the consumer goes back to sampling itself.
+     */
+    public void deactivate() {
+        this.active = false;
+    }
+}
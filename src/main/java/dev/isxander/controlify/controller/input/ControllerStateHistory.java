@@ -0,0 +1,53 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+
+/**
+ * A fixed ring of controller states. Each push recycles the oldest frame.
+ */
+public class ControllerStateHistory {
+    private final DenseControllerState[] frames;
+    private int head;
+
+    public ControllerStateHistory(int size) {
+        if (size < 2)
+            throw new IllegalArgumentException("State history must retain at least two frames");
+
+        this.frames = new DenseControllerState[size];
+        for (int i = 0; i < size; i++) {
+            this.frames[i] = new DenseControllerState();
+        }
+        this.head = 0;
+    }
+
+    /**
+     * Recycles the oldest frame as the new current frame.
+     * The returned state still holds stale data and must be fully overwritten.
+     */
+    public DenseControllerState advance() {
+        head = head == 0 ? frames.length - 1 : head - 1;
+        return frames[head];
+    }
+
+    /**
+     * @param framesAgo 0 for the current frame, 1 for the previous frame, etc.
+     */
+    public DenseControllerState get(int framesAgo) {
+        if (framesAgo < 0 || framesAgo >= frames.length)
+            throw new IndexOutOfBoundsException("State history only retains " + frames.length + " frames");
+
+        int index = head + framesAgo;
+        if (index >= frames.length) index -= frames.length;
+        return frames[index];
+    }
+
+    public int size() {
+        return frames.length;
+    }
+
+    public void clear() {
+        for (DenseControllerState frame : frames) {
+            frame.clearState();
+        }
+    }
+}
@@ -1,18 +1,43 @@
 package dev.isxander.controlify.controller.input;
 
-import dev.isxander.controlify.utils.ControllerUtils;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.Optional;
+import java.util.Arrays;
 import java.util.Set;
 
+/**
+ * A reusable view over a {@link DenseControllerState} with deadzones applied.
+ * Deadzones are applied to every axis in a single pass when the view is updated,
+ * so reads are a plain array lookup.
+ */
 public class DeadzoneControllerStateView implements ControllerStateView {
-    private final ControllerStateView view;
-    private final InputComponent input;
+    private DenseControllerState view;
+    private float[] axes;
 
-    public DeadzoneControllerStateView(ControllerStateView view, InputComponent input) {
+    public DeadzoneControllerStateView(DenseControllerState view) {
         this.view = view;
-        this.input = input;
+        this.axes = new float[0];
+    }
+
+    /**
+     * Points this view at a new state and recomputes every axis.
+     */
+    void update(DenseControllerState view, CompiledDeadzones deadzones) {
+        this.view = view;
+
+        int axisCount = view.axisSlots();
+        if (this.axes.length < axisCount) {
+            this.axes = new float[axisCount];
+        } else {
+            Arrays.fill(this.axes, axisCount, this.axes.length, 0f);
+        }
+
+        deadzones.apply(view, this.axes);
+    }
+
+    public float getAxisState(int slot) {
+        return slot < axes.length ? axes[slot] : 0f;
     }
 
     @Override
@@ -27,11 +52,8 @@ public class DeadzoneControllerStateView implements ControllerStateView {
 
     @Override
     public float getAxisState(ResourceLocation axis) {
-        float rawAxis = view.getAxisState(axis);
-        Optional<ResourceLocation> deadzoneId = input.getDeadzoneForAxis(axis);
-        float deadzone = deadzoneId.map(id -> input.confObj().deadzones.get(id)).orElse(0f);
-
-        return ControllerUtils.deadzone(rawAxis, deadzone);
+        int slot = InputSlots.lookupAxis(axis);
+        return slot != InputSlots.NONE ? getAxisState(slot) : 0f;
     }
 
     @Override
@@ -0,0 +1,20 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.yacl3.api.NameableEnum;
+import net.minecraft.network.chat.Component;
+
+public enum DeadzoneMode implements NameableEnum {
+    /** Each half-axis is cut off independently, producing a square deadzone. */
+    AXIAL,
+    /** Both axes of a stick are cut off while the stick is within a circle. */
+    RADIAL,
+    /** Like radial, but the remaining range is rescaled so output starts from zero at the edge of the deadzone. */
+    SCALED_RADIAL,
+    /** Scaled radial, followed by a scaled axial pass that makes it easier to hold a cardinal direction. */
+    HYBRID;
+
+    @Override
+    public Component getDisplayName() {
+        return Component.translatable("controlify.deadzone_mode." + this.name().toLowerCase());
+    }
+}
@@ -87,13 +87,20 @@ public final class GamepadInputs {
         };
     }
 
+    // intern eagerly so gamepad inputs always occupy the lowest slots
     private static ResourceLocation button(String id) {
-        return CUtil.rl("button/" + id);
+        ResourceLocation button = CUtil.rl("button/" + id);
+        InputSlots.button(button);
+        return button;
     }
     private static ResourceLocation axis(String id) {
-        return CUtil.rl("axis/" + id);
+        ResourceLocation axis = CUtil.rl("axis/" + id);
+        InputSlots.axis(axis);
+        return axis;
     }
     private static ResourceLocation hat(String id) {
-        return CUtil.rl("hat/" + id);
+        ResourceLocation hat = CUtil.rl("hat/" + id);
+        InputSlots.hat(hat);
+        return hat;
     }
 }
@@ -0,0 +1,74 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+
+import java.util.Arrays;
+
+/**
+ * The set of input slots whose value differs between the current and previous state,
+ * recomputed in place on every push.
+ */
+public class InputChanges {
+    private long[] buttons = new long[1];
+    private long[] axes = new long[1];
+    private long[] hats = new long[1];
+    private boolean all = true;
+
+    void compute(DenseControllerState now, DenseControllerState then, DeadzoneControllerStateView axesNow, DeadzoneControllerStateView axesThen) {
+        this.all = false;
+
+        int buttonWords = Math.max(now.buttonWords(), then.buttonWords());
+        buttons = ensureWords(buttons, buttonWords);
+        for (int word = 0; word < buttonWords; word++) {
+            buttons[word] = now.buttonWord(word) ^ then.buttonWord(word);
+        }
+
+        int axisSlots = Math.max(now.axisSlots(), then.axisSlots());
+        axes = ensureWords(axes, (axisSlots + 63) >>> 6);
+        for (int slot = 0; slot < axisSlots; slot++) {
+            if (axesNow.getAxisState(slot) != axesThen.getAxisState(slot)) {
+                axes[slot >>> 6] |= 1L << slot;
+            }
+        }
+
+        int hatSlots = Math.max(now.hatSlots(), then.hatSlots());
+        hats = ensureWords(hats, (hatSlots + 63) >>> 6);
+        for (int slot = 0; slot < hatSlots; slot++) {
+            if (now.getHatState(slot) != then.getHatState(slot)) {
+                hats[slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    /**
+     * Marks every input as changed, e.g. when deadzones or the mapping change.
+     */
+    void markAll() {
+        this.all = true;
+    }
+
+    public boolean buttonChanged(int slot) {
+        return all || isSet(buttons, slot);
+    }
+
+    public boolean axisChanged(int slot) {
+        return all || isSet(axes, slot);
+    }
+
+    public boolean hatChanged(int slot) {
+        return all || isSet(hats, slot);
+    }
+
+    private static boolean isSet(long[] bits, int slot) {
+        int word = slot >>> 6;
+        return word < bits.length && (bits[word] & (1L << slot)) != 0;
+    }
+
+    private static long[] ensureWords(long[] bits, int words) {
+        if (bits.length < words)
+            return new long[words];
+
+        Arrays.fill(bits, 0L);
+        return bits;
+    }
+}
@@ -6,6 +6,7 @@ import com.mojang.serialization.JsonOps;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.bindings.ControlifyBindApiImpl;
 import dev.isxander.controlify.bindings.ControlifyBindings;
+import dev.isxander.controlify.bindings.InputBindingImpl;
 import dev.isxander.controlify.api.bind.InputBinding;
 import dev.isxander.controlify.bindings.input.Input;
 import dev.isxander.controlify.controller.*;
@@ -13,8 +14,10 @@ import dev.isxander.controlify.controller.serialization.ConfigClass;
 import dev.isxander.controlify.controller.serialization.ConfigHolder;
 import dev.isxander.controlify.controller.serialization.CustomSaveLoadConfig;
 import dev.isxander.controlify.controller.serialization.IConfig;
+import dev.isxander.controlify.controller.input.mapping.CompiledMapping;
 import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
 import dev.isxander.controlify.controller.impl.ConfigImpl;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
 import dev.isxander.controlify.controller.input.mapping.ControllerMappingStorage;
 import dev.isxander.controlify.gui.screen.RadialMenuScreen;
 import dev.isxander.controlify.utils.CUtil;
@@ -28,14 +31,31 @@ import java.util.stream.Collectors;
 
 public class InputComponent implements ECSComponent, ConfigHolder<InputComponent.Config>, CustomSaveLoadConfig {
     public static final ResourceLocation ID = CUtil.rl("input");
+    public static final int STATE_HISTORY_SIZE = 8;
 
     private final ControllerEntity controller;
 
-    private ControllerState
-            stateNow = ControllerState.EMPTY,
-            stateThen = ControllerState.EMPTY;
+    private final ControllerStateHistory stateHistory;
+    private final DenseControllerState mappedState;
+    private final DenseControllerState pushedState;
+    private @Nullable ControllerStateExchanger polledInput;
+    private final DenseControllerState latestMappedState;
+    private final DeadzoneControllerStateView deadzoneStateLatest;
+    private ControllerState latestRawState;
+    private ControllerStateView latestState;
+    private long latestSequence;
+    private @Nullable CompiledMapping latestMapping;
+    private @Nullable CompiledDeadzones latestDeadzones;
+    private @Nullable ControllerMapping lastMapping;
+    private CompiledMapping compiledMapping;
     private DeadzoneControllerStateView deadzoneStateNow, deadzoneStateThen;
 
+    private CompiledDeadzones compiledDeadzones;
+    private @Nullable Config compiledDeadzoneConfig;
+    private @Nullable ControllerMapping compiledDeadzoneMapping;
+    private boolean deadzonesDirty;
+    private final InputChanges changes;
+
     private final int buttonCount, axisCount, hatCount;
     private final Map<ResourceLocation, DeadzoneGroup> deadzoneAxes;
     private final boolean definitelyGamepad;
@@ -54,8 +74,20 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         this.deadzoneAxes = deadzoneAxes.stream()
                 .collect(Collectors.toMap(DeadzoneGroup::name, Function.identity(), (x, y) -> y, LinkedHashMap::new));
         this.inputBindings = new LinkedHashMap<>();
-
-        this.updateDeadzoneView();
+        this.stateHistory = new ControllerStateHistory(STATE_HISTORY_SIZE);
+        this.mappedState = new DenseControllerState();
+        this.pushedState = new DenseControllerState();
+        this.latestMappedState = new DenseControllerState();
+        this.compiledMapping = CompiledMapping.EMPTY;
+        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateHistory.get(0));
+        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateHistory.get(1));
+        this.compiledDeadzones = CompiledDeadzones.NONE;
+        this.deadzonesDirty = true;
+        this.changes = new InputChanges();
+        this.deadzoneStateLatest = new DeadzoneControllerStateView(this.latestMappedState);
+        this.latestRawState = this.stateHistory.get(0);
+        this.latestState = this.deadzoneStateNow;
+        this.latestSequence = -1;
     }
 
     public ControllerStateView stateNow() {
@@ -66,28 +98,117 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
     }
     
     public ControllerState rawStateNow() {
-        return this.stateNow;
+        return this.stateHistory.get(0);
     }
 
     public ControllerState rawStateThen() {
-        return this.stateThen;
+        return this.stateHistory.get(1);
+    }
+
+    /**
+     * Gets a retained state without deadzones applied.
+     * The returned state is recycled after {@link #STATE_HISTORY_SIZE} pushes, so it must not be held onto.
+     * @param framesAgo 0 for the current state, up to {@link #STATE_HISTORY_SIZE} - 1
+     */
+    public ControllerState rawStateHistory(int framesAgo) {
+        return this.stateHistory.get(framesAgo);
+    }
+
+    /**
+     * Gets the newest state without deadzones applied. When the driver is fed by the background
+     * polling thread this may be newer than {@link #rawStateNow()}, and reading it does not affect
+     * what the next tick receives. Must be called on the client thread.
+     */
+    public ControllerState latestRawState() {
+        this.refreshLatestState();
+        return this.latestRawState;
+    }
+
+    /**
+     * Gets {@link #latestRawState()} with deadzones applied. Must be called on the client thread.
+     */
+    public ControllerStateView latestState() {
+        this.refreshLatestState();
+        return this.latestState;
+    }
+
+    private void refreshLatestState() {
+        if (this.polledInput == null || !this.polledInput.isActive()) {
+            this.latestRawState = this.rawStateNow();
+            this.latestState = this.deadzoneStateNow;
+            this.latestSequence = -1;
+            return;
+        }
+
+        DenseControllerState latest = this.polledInput.peek();
+        long sequence = this.polledInput.frontSequence();
+        if (sequence == this.latestSequence
+                && this.latestMapping == this.compiledMapping
+                && this.latestDeadzones == this.compiledDeadzones) {
+            return;
+        }
+
+        if (this.compiledMapping.mapState(latest, this.latestMappedState)) {
+            latest = this.latestMappedState;
+        }
+        this.deadzoneStateLatest.update(latest, this.compiledDeadzones);
+
+        this.latestRawState = latest;
+        this.latestState = this.deadzoneStateLatest;
+        this.latestSequence = sequence;
+        this.latestMapping = this.compiledMapping;
+        this.latestDeadzones = this.compiledDeadzones;
     }
 
+    /**
+     * Lets {@link #latestRawState()} read samples from the driver's polling thread between ticks.
+     */
+    public void attachPolledInput(ControllerStateExchanger polledInput) {
+        this.polledInput = polledInput;
+    }
+
+    /**
+     * Pushes a new state from the driver. The state is copied into a recycled
+     * history frame, so drivers are free to reuse the same state object every tick.
+     */
     public void pushState(ControllerState state) {
+        DenseControllerState denseState;
+        if (state instanceof DenseControllerState dense) {
+            denseState = dense;
+        } else {
+            this.pushedState.copyFrom(state);
+            denseState = this.pushedState;
+        }
+
         ControllerMapping mapping = confObj().mapping;
-        if (mapping != null) {
-            state = mapping.mapState(state);
+        if (mapping != lastMapping) {
+            this.compiledMapping = mapping != null ? mapping.compile() : CompiledMapping.EMPTY;
+            // stale outputs of the previous mapping must not linger
+            this.mappedState.clearState();
+            this.latestMappedState.clearState();
+            this.lastMapping = mapping;
+        }
+        if (this.compiledMapping.mapState(denseState, this.mappedState)) {
+            denseState = this.mappedState;
         }
 
-        this.stateThen = this.stateNow;
-        this.stateNow = state;
-        this.updateDeadzoneView();
+        this.stateHistory.advance().copyFrom(denseState);
+        this.updateDeadzoneViews();
 
         for (InputBinding binding : this.inputBindings.values()) {
-            binding.pushState(this.deadzoneStateNow);
+            binding.pushState(this.deadzoneStateNow, this.changes);
         }
     }
 
+    /**
+     * Clears the current and all retained states.
+     */
+    public void clearState() {
+        this.stateHistory.clear();
+        this.deadzonesDirty = true;
+        this.updateDeadzoneViews();
+    }
+
     public @Nullable InputBinding getBinding(ResourceLocation id) {
         return this.inputBindings.get(id);
     }
@@ -138,18 +259,52 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return this.config;
     }
 
-    private void updateDeadzoneView() {
-        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateNow, this);
-        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateThen, this);
+    /**
+     * Forces deadzones to be recompiled on the next push, e.g. after {@link Config#deadzones} has been modified.
+     */
+    public void invalidateDeadzones() {
+        this.deadzonesDirty = true;
     }
 
-    Optional<ResourceLocation> getDeadzoneForAxis(ResourceLocation axis) {
-        for (DeadzoneGroup group : this.getDeadzoneGroups().values()) {
-            if (group.axes().contains(axis)) {
-                return Optional.of(group.name());
+    /**
+     * Applies {@link Config#buttonActivationThreshold} to every binding.
+     */
+    public void updateActivationThreshold() {
+        float threshold = confObj().buttonActivationThreshold;
+        for (InputBinding binding : this.inputBindings.values()) {
+            if (binding instanceof InputBindingImpl impl) {
+                impl.setActivationThreshold(threshold);
             }
         }
-        return Optional.empty();
+    }
+
+    private void updateDeadzoneViews() {
+        Config config = confObj();
+        ControllerMapping mapping = config.mapping;
+        boolean recompile = this.deadzonesDirty
+                || config != this.compiledDeadzoneConfig
+                || mapping != this.compiledDeadzoneMapping;
+
+        if (recompile) {
+            this.compiledDeadzones = CompiledDeadzones.compile(this.getDeadzoneGroups().values(), config.deadzones, config.deadzoneMode);
+            this.compiledDeadzoneConfig = config;
+            this.compiledDeadzoneMapping = mapping;
+            this.deadzonesDirty = false;
+
+            this.deadzoneStateThen.update(this.stateHistory.get(1), this.compiledDeadzones);
+            this.changes.markAll();
+        } else {
+            // last tick's current view is already computed for what is now the previous state
+            DeadzoneControllerStateView then = this.deadzoneStateNow;
+            this.deadzoneStateNow = this.deadzoneStateThen;
+            this.deadzoneStateThen = then;
+        }
+
+        this.deadzoneStateNow.update(this.stateHistory.get(0), this.compiledDeadzones);
+
+        if (!recompile) {
+            this.changes.compute(this.stateHistory.get(0), this.stateHistory.get(1), this.deadzoneStateNow, this.deadzoneStateThen);
+        }
     }
 
     @Override
@@ -215,6 +370,7 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         public float buttonActivationThreshold = 0.5f;
 
         public Map<ResourceLocation, Float> deadzones = new Object2ObjectOpenHashMap<>();
+        public DeadzoneMode deadzoneMode = DeadzoneMode.AXIAL;
         public boolean deadzonesCalibrated = false;
         public boolean delayedCalibration = false;
 
@@ -231,6 +387,8 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         @Override
         public void onConfigSaveLoad(ControllerEntity controller) {
             this.validateRadialActions(controller);
+            controller.input().orElseThrow().invalidateDeadzones();
+            controller.input().orElseThrow().updateActivationThreshold();
         }
 
         private void validateRadialActions(ControllerEntity controller) {
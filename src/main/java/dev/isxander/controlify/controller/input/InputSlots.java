@@ -0,0 +1,119 @@
+package dev.isxander.controlify.controller.input;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns every button, axis and hat {@link ResourceLocation} to a small integer slot.
+ */
+public final class InputSlots {
+    public static final int NONE = -1;
+
+    private static final SlotTable BUTTONS = new SlotTable();
+    private static final SlotTable AXES = new SlotTable();
+    private static final SlotTable HATS = new SlotTable();
+
+    private InputSlots() {
+    }
+
+    /**
+     * Gets the slot of a button, assigning a new one if it has never been seen before.
+     */
+    public static int button(ResourceLocation id) {
+        return BUTTONS.intern(id);
+    }
+
+    public static int axis(ResourceLocation id) {
+        return AXES.intern(id);
+    }
+
+    public static int hat(ResourceLocation id) {
+        return HATS.intern(id);
+    }
+
+    /**
+     * Gets the slot of a button without interning it.
+     * @return the slot, or {@link #NONE} if this button has never been interned
+     */
+    public static int lookupButton(ResourceLocation id) {
+        return BUTTONS.lookup(id);
+    }
+
+    public static int lookupAxis(ResourceLocation id) {
+        return AXES.lookup(id);
+    }
+
+    public static int lookupHat(ResourceLocation id) {
+        return HATS.lookup(id);
+    }
+
+    public static ResourceLocation buttonId(int slot) {
+        return BUTTONS.id(slot);
+    }
+
+    public static ResourceLocation axisId(int slot) {
+        return AXES.id(slot);
+    }
+
+    public static ResourceLocation hatId(int slot) {
+        return HATS.id(slot);
+    }
+
+    public static int buttonCount() {
+        return BUTTONS.size();
+    }
+
+    public static int axisCount() {
+        return AXES.size();
+    }
+
+    public static int hatCount() {
+        return HATS.size();
+    }
+
+    private static final class SlotTable {
+        private final ConcurrentHashMap<ResourceLocation, Integer> slots = new ConcurrentHashMap<>();
+        private volatile ResourceLocation[] ids = new ResourceLocation[32];
+        private volatile int size;
+
+        int intern(ResourceLocation id) {
+            Integer slot = slots.get(id);
+            if (slot != null)
+                return slot;
+
+            synchronized (this) {
+                slot = slots.get(id);
+                if (slot != null)
+                    return slot;
+
+                int newSlot = size;
+                ResourceLocation[] ids = this.ids;
+                if (newSlot >= ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[newSlot] = id;
+                this.ids = ids;
+                this.size = newSlot + 1;
+                slots.put(id, newSlot);
+                return newSlot;
+            }
+        }
+
+        int lookup(ResourceLocation id) {
+            Integer slot = slots.get(id);
+            return slot != null ? slot : NONE;
+        }
+
+        ResourceLocation id(int slot) {
+            if (slot < 0 || slot >= size)
+                throw new IndexOutOfBoundsException("Unknown input slot " + slot);
+            return ids[slot];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package dev.isxander.controlify.controller.input.mapping;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputSlots;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link ControllerMapping} flattened into a program of opcodes and operand arrays,
+ * with every input resolved to its {@link InputSlots slot} ahead of time.
+ */
+public final class CompiledMapping implements StateMapper {
+    public static final CompiledMapping EMPTY = new Builder().build();
+
+    static final byte BUTTON_TO_BUTTON = 0;
+    static final byte BUTTON_TO_AXIS = 1;
+    static final byte BUTTON_TO_HAT = 2;
+    static final byte AXIS_TO_BUTTON = 3;
+    static final byte AXIS_TO_AXIS = 4;
+    static final byte AXIS_TO_HAT = 5;
+    static final byte HAT_TO_BUTTON = 6;
+    static final byte HAT_TO_AXIS = 7;
+    static final byte HAT_TO_HAT = 8;
+    static final byte CONST_BUTTON = 9;
+    static final byte CONST_AXIS = 10;
+    static final byte CONST_HAT = 11;
+
+    private final byte[] ops;
+    private final int[] from, to;
+    private final float[] argA, argB, argC, argD;
+    private final HatState[] hatA, hatB;
+
+    private CompiledMapping(Builder builder) {
+        int length = builder.length;
+        this.ops = Arrays.copyOf(builder.ops, length);
+        this.from = Arrays.copyOf(builder.from, length);
+        this.to = Arrays.copyOf(builder.to, length);
+        this.argA = Arrays.copyOf(builder.argA, length);
+        this.argB = Arrays.copyOf(builder.argB, length);
+        this.argC = Arrays.copyOf(builder.argC, length);
+        this.argD = Arrays.copyOf(builder.argD, length);
+        this.hatA = Arrays.copyOf(builder.hatA, length);
+        this.hatB = Arrays.copyOf(builder.hatB, length);
+    }
+
+    public static CompiledMapping compile(List<MappingEntry> mappings) {
+        Builder builder = new Builder();
+        for (MappingEntry mapping : mappings) {
+            mapping.compile(builder);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean mapState(DenseControllerState state, DenseControllerState out) {
+        if (ops.length == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < ops.length; i++) {
+            int from = this.from[i], to = this.to[i];
+
+            switch (ops[i]) {
+                case BUTTON_TO_BUTTON -> out.setButton(to, state.isButtonDown(from) != (argA[i] != 0));
+                case BUTTON_TO_AXIS -> out.setAxis(to, state.isButtonDown(from) ? argB[i] : argA[i]);
+                case BUTTON_TO_HAT -> out.setHat(to, state.isButtonDown(from) ? hatB[i] : hatA[i]);
+                case AXIS_TO_BUTTON -> out.setButton(to, state.getAxisState(from) >= argA[i]);
+                case AXIS_TO_AXIS -> out.setAxis(to, Mth.lerp(Mth.inverseLerp(state.getAxisState(from), argA[i], argC[i]), argB[i], argD[i]));
+                case AXIS_TO_HAT -> out.setHat(to, state.getAxisState(from) >= argA[i] ? hatA[i] : HatState.CENTERED);
+                case HAT_TO_BUTTON -> out.setButton(to, state.getHatState(from) == hatA[i]);
+                case HAT_TO_AXIS -> out.setAxis(to, state.getHatState(from) == hatA[i] ? argA[i] : argB[i]);
+                case HAT_TO_HAT -> out.setHat(to, state.getHatState(from));
+                case CONST_BUTTON -> out.setButton(to, argA[i] != 0);
+                case CONST_AXIS -> out.setAxis(to, argA[i]);
+                case CONST_HAT -> out.setHat(to, hatA[i]);
+                default -> throw new IllegalStateException("Unknown mapping opcode " + ops[i]);
+            }
+        }
+
+        return true;
+    }
+
+    public int length() {
+        return this.ops.length;
+    }
+
+    public static final class Builder {
+        private byte[] ops = new byte[16];
+        private int[] from = new int[16], to = new int[16];
+        private float[] argA = new float[16], argB = new float[16], argC = new float[16], argD = new float[16];
+        private HatState[] hatA = new HatState[16], hatB = new HatState[16];
+        private int length;
+
+        private Builder() {
+        }
+
+        void buttonToButton(ResourceLocation from, ResourceLocation to, boolean invert) {
+            emit(BUTTON_TO_BUTTON, InputSlots.button(from), InputSlots.button(to), invert ? 1 : 0, 0, 0, 0, null, null);
+        }
+
+        void buttonToAxis(ResourceLocation from, ResourceLocation to, float offState, float onState) {
+            emit(BUTTON_TO_AXIS, InputSlots.button(from), InputSlots.axis(to), offState, onState, 0, 0, null, null);
+        }
+
+        void buttonToHat(ResourceLocation from, ResourceLocation to, HatState offState, HatState onState) {
+            emit(BUTTON_TO_HAT, InputSlots.button(from), InputSlots.hat(to), 0, 0, 0, 0, offState, onState);
+        }
+
+        void axisToButton(ResourceLocation from, ResourceLocation to, float threshold) {
+            emit(AXIS_TO_BUTTON, InputSlots.axis(from), InputSlots.button(to), threshold, 0, 0, 0, null, null);
+        }
+
+        void axisToAxis(ResourceLocation from, ResourceLocation to, float minIn, float minOut, float maxIn, float maxOut) {
+            emit(AXIS_TO_AXIS, InputSlots.axis(from), InputSlots.axis(to), minIn, minOut, maxIn, maxOut, null, null);
+        }
+
+        void axisToHat(ResourceLocation from, ResourceLocation to, float threshold, HatState targetState) {
+            emit(AXIS_TO_HAT, InputSlots.axis(from), InputSlots.hat(to), threshold, 0, 0, 0, targetState, null);
+        }
+
+        void hatToButton(ResourceLocation from, ResourceLocation to, HatState targetState) {
+            emit(HAT_TO_BUTTON, InputSlots.hat(from), InputSlots.button(to), 0, 0, 0, 0, targetState, null);
+        }
+
+        void hatToAxis(ResourceLocation from, ResourceLocation to, HatState targetState, float onState, float offState) {
+            emit(HAT_TO_AXIS, InputSlots.hat(from), InputSlots.axis(to), onState, offState, 0, 0, targetState, null);
+        }
+
+        void hatToHat(ResourceLocation from, ResourceLocation to) {
+            emit(HAT_TO_HAT, InputSlots.hat(from), InputSlots.hat(to), 0, 0, 0, 0, null, null);
+        }
+
+        void constButton(ResourceLocation to, boolean state) {
+            emit(CONST_BUTTON, 0, InputSlots.button(to), state ? 1 : 0, 0, 0, 0, null, null);
+        }
+
+        void constAxis(ResourceLocation to, float state) {
+            emit(CONST_AXIS, 0, InputSlots.axis(to), state, 0, 0, 0, null, null);
+        }
+
+        void constHat(ResourceLocation to, HatState state) {
+            emit(CONST_HAT, 0, InputSlots.hat(to), 0, 0, 0, 0, state, null);
+        }
+
+        private void emit(byte op, int from, int to, float a, float b, float c, float d, HatState hatA, HatState hatB) {
+            if (length == ops.length) {
+                int newLength = length * 2;
+                this.ops = Arrays.copyOf(this.ops, newLength);
+                this.from = Arrays.copyOf(this.from, newLength);
+                this.to = Arrays.copyOf(this.to, newLength);
+                this.argA = Arrays.copyOf(this.argA, newLength);
+                this.argB = Arrays.copyOf(this.argB, newLength);
+                this.argC = Arrays.copyOf(this.argC, newLength);
+                this.argD = Arrays.copyOf(this.argD, newLength);
+                this.hatA = Arrays.copyOf(this.hatA, newLength);
+                this.hatB = Arrays.copyOf(this.hatB, newLength);
+            }
+
+            this.ops[length] = op;
+            this.from[length] = from;
+            this.to[length] = to;
+            this.argA[length] = a;
+            this.argB[length] = b;
+            this.argC[length] = c;
+            this.argD[length] = d;
+            this.hatA[length] = hatA;
+            this.hatB[length] = hatB;
+            length++;
+        }
+
+        CompiledMapping build() {
+            return new CompiledMapping(this);
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package dev.isxander.controlify.controller.input.mapping;
 
-import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.DeadzoneGroup;
-import dev.isxander.controlify.controller.input.ModifiableControllerState;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.*;
@@ -11,20 +8,9 @@ import java.util.*;
 public record ControllerMapping(
         List<MappingEntry> mappings,
         LinkedHashMap<ResourceLocation, DeadzoneGroup> deadzones
-) implements StateMapper {
-    @Override
-    public ControllerState mapState(ControllerState state) {
-        if (mappings.isEmpty()) {
-            return state;
-        }
-
-        ModifiableControllerState newState = new ControllerStateImpl();
-
-        for (MappingEntry mapping : mappings) {
-            mapping.apply(state, newState);
-        }
-
-        return newState;
+) {
+    public CompiledMapping compile() {
+        return CompiledMapping.compile(mappings);
     }
 
     public static final ControllerMapping NO_MAPPING = new Builder().build();
@@ -1,13 +1,10 @@
 package dev.isxander.controlify.controller.input.mapping;
 
-import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.HatState;
-import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.util.Mth;
 
 public sealed interface MappingEntry {
-    void apply(ControllerState oldState, ModifiableControllerState newState);
+    void compile(CompiledMapping.Builder program);
 
     MapType inputType();
 
@@ -20,10 +17,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                boolean fromState = oldState.isButtonDown(from);
-                if (invert()) fromState = !fromState;
-                newState.setButton(to, fromState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToButton(from, to, invert);
             }
         }
 
@@ -33,8 +28,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, oldState.isButtonDown(from) ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToAxis(from, to, offState, onState);
             }
         }
 
@@ -44,8 +39,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, oldState.isButtonDown(from) ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToHat(from, to, offState, onState);
             }
         }
     }
@@ -57,8 +52,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, oldState.getAxisState(from) >= threshold);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToButton(from, to, threshold);
             }
         }
 
@@ -68,10 +63,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                float oldVal = oldState.getAxisState(from);
-                float newVal = Mth.lerp(Mth.inverseLerp(oldVal, minIn, maxIn), minOut, maxOut);
-                newState.setAxis(to, newVal);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToAxis(from, to, minIn, minOut, maxIn, maxOut);
             }
         }
 
@@ -81,9 +74,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                float oldVal = oldState.getAxisState(from);
-                newState.setHat(to, oldVal >= threshold ? targetState : HatState.CENTERED);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToHat(from, to, threshold, targetState);
             }
         }
     }
@@ -95,8 +87,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, oldState.getHatState(from) == targetState);
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToButton(from, to, targetState);
             }
         }
 
@@ -106,8 +98,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, oldState.getHatState(from) == targetState ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToAxis(from, to, targetState, onState, offState);
             }
         }
 
@@ -117,8 +109,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, oldState.getHatState(from));
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToHat(from, to);
             }
         }
     }
@@ -130,8 +122,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, state);
+            public void compile(CompiledMapping.Builder program) {
+                program.constButton(to, state);
             }
         }
 
@@ -141,8 +133,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, state);
+            public void compile(CompiledMapping.Builder program) {
+                program.constAxis(to, state);
             }
         }
 
@@ -152,8 +144,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, HatState.CENTERED);
+            public void compile(CompiledMapping.Builder program) {
+                program.constHat(to, HatState.CENTERED);
             }
         }
     }
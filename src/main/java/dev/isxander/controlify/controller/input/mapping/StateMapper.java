@@ -1,7 +1,11 @@
 package dev.isxander.controlify.controller.input.mapping;
 
-import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
 
 public interface StateMapper {
-   ControllerState mapState(ControllerState state);
+   /**
+    * Writes the mapped form of {@code state} into {@code out}.
+    * @return false if this mapper does nothing, in which case {@code out} is left untouched
+    */
+   boolean mapState(DenseControllerState state, DenseControllerState out);
 }
@@ -1,16 +1,20 @@
 package dev.isxander.controlify.controller.rumble;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.serialization.ConfigClass;
 import dev.isxander.controlify.controller.serialization.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
 import dev.isxander.controlify.controller.serialization.IConfig;
 import dev.isxander.controlify.controller.impl.ConfigImpl;
 import dev.isxander.controlify.rumble.RumbleManager;
+import dev.isxander.controlify.rumble.RumbleMixerThread;
+import dev.isxander.controlify.rumble.RumbleOutputFilter;
 import dev.isxander.controlify.rumble.RumbleSource;
 import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Optional;
@@ -21,18 +25,54 @@ public class RumbleComponent implements ECSComponent, ConfigHolder<RumbleCompone
     private RumbleState state = null;
     private final IConfig<Config> config;
     private final RumbleManager rumbleManager;
+    private volatile @Nullable Output output;
 
     public RumbleComponent() {
         this.config = new ConfigImpl<>(Config::new, Config.class);
         this.rumbleManager = new RumbleManager(this);
     }
 
+    /**
+     * Sends the state straight to the attached {@link Output}, or holds it for the driver's next
+     * {@link #consumeRumble()} if there is none. May be called from the rumble mixer thread.
+     */
     public void queueRumble(RumbleState state) {
-        if (confObj().enabled) {
-            this.state = state;
+        this.queueRumble(state.strong(), state.weak());
+    }
+
+    /**
+     * @see #queueRumble(RumbleState)
+     */
+    public void queueRumble(float strong, float weak) {
+        if (!confObj().enabled)
+            return;
+
+        Output output = this.output;
+        if (output != null) {
+            output.rumble(strong, weak);
+        } else {
+            this.state = strong == 0f && weak == 0f ? RumbleState.NONE : new RumbleState(strong, weak);
         }
     }
 
+    /**
+     * Lets the {@link RumbleMixerThread} drive the motors directly at its own rate, instead of the
+     * driver consuming one state per tick. The output is called from the mixer thread, through a
+     * {@link RumbleOutputFilter} so it is only written when the motors would change.
+     */
+    public void attachOutput(Output output) {
+        this.output = new RumbleOutputFilter(output, () -> confObj().minOutputIntervalMs);
+        RumbleMixerThread.INSTANCE.add(this.rumbleManager);
+    }
+
+    /**
+     * Stops calling the attached output. Must be called before the output is closed.
+     */
+    public void detachOutput() {
+        RumbleMixerThread.INSTANCE.remove(this.rumbleManager);
+        this.output = null;
+    }
+
     public Optional<RumbleState> consumeRumble() {
         RumbleState state = this.state;
         this.state = null;
@@ -48,22 +88,61 @@ public class RumbleComponent implements ECSComponent, ConfigHolder<RumbleCompone
         return this.config;
     }
 
+    @FunctionalInterface
+    public interface Output {
+        /**
+         * @param strong the strong (low frequency) motor magnitude, 0-1
+         * @param weak the weak (high frequency) motor magnitude, 0-1
+         */
+        void rumble(float strong, float weak);
+    }
+
     public static class Config implements ConfigClass {
         public boolean enabled = true;
 
+        /** the least time between writes to the motors, changes in between are coalesced */
+        public int minOutputIntervalMs = 16;
+
         public Map<ResourceLocation, Float> vibrationStrengths = RumbleSource.getDefaultMap();
 
+        // strength of each source with master applied, indexed by RumbleSource#index, read while mixing
+        private transient volatile float[] strengthCache;
+
         public RumbleState applyRumbleStrength(RumbleState state, RumbleSource source) {
-            float strength = this.getStrength(source);
-            if (source != RumbleSource.MASTER) { // don't apply master twice
-                strength *= this.getStrength(RumbleSource.MASTER);
+            return state.mul(this.getStrength(source));
+        }
+
+        /**
+         * @return the strength of the source, multiplied by the master strength
+         */
+        public float getStrength(RumbleSource source) {
+            float[] strengths = this.strengthCache;
+            if (strengths == null || source.index() >= strengths.length) {
+                // sources may be registered after the config loads
+                strengths = this.buildStrengthCache();
+            }
+            return strengths[source.index()];
+        }
+
+        private float[] buildStrengthCache() {
+            float master = this.vibrationStrengths.getOrDefault(RumbleSource.MASTER.id(), 1f);
+
+            float[] strengths = new float[RumbleSource.values().size()];
+            for (RumbleSource source : RumbleSource.values()) {
+                float strength = this.vibrationStrengths.getOrDefault(source.id(), 1f);
+                if (source != RumbleSource.MASTER) { // don't apply master twice
+                    strength *= master;
+                }
+                strengths[source.index()] = strength;
             }
 
-            return state.mul(strength);
+            this.strengthCache = strengths;
+            return strengths;
         }
 
-        private float getStrength(RumbleSource source) {
-            return this.vibrationStrengths.getOrDefault(source.id(), 1f);
+        @Override
+        public void onConfigSaveLoad(ControllerEntity controller) {
+            this.buildStrengthCache();
         }
     }
 }
@@ -2,36 +2,60 @@ package dev.isxander.controlify.controller.touchpad;
 
 import dev.isxander.controlify.controller.ECSComponent;
 import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.controlify.utils.ControllerUtils;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 public class TouchpadComponent implements ECSComponent {
     public static final ResourceLocation ID = CUtil.rl("touchpad");
 
-    private List<TouchpadState.Finger> fingers;
-    private List<TouchpadState.Finger> prevFingers;
+    private TouchpadState fingers;
+    private TouchpadState prevFingers;
+    private final TouchpadState fingerDeltas;
+    private boolean deltasDirty;
+    private final TouchpadGestureRecognizer gestures = new TouchpadGestureRecognizer();
     private final int maxFingers;
 
     public TouchpadComponent(int maxFingers) {
-        this.fingers = new ArrayList<>();
-        this.prevFingers = new ArrayList<>();
+        this.fingers = new TouchpadState(maxFingers);
+        this.prevFingers = new TouchpadState(maxFingers);
+        this.fingerDeltas = new TouchpadState(maxFingers);
         this.maxFingers = maxFingers;
     }
 
-    public List<TouchpadState.Finger> fingersNow() {
+    public TouchpadState fingersNow() {
         return this.fingers;
     }
 
-    public List<TouchpadState.Finger> fingersThen() {
+    public TouchpadState fingersThen() {
         return this.prevFingers;
     }
 
-    public void pushFingers(Collection<TouchpadState.Finger> fingers) {
+    /**
+     * @return how far each finger moved since the last push, empty if fingers were lifted or placed
+     */
+    public TouchpadState fingerDeltas() {
+        if (this.deltasDirty) {
+            ControllerUtils.deltaFingers(this.fingers, this.prevFingers, this.fingerDeltas);
+            this.deltasDirty = false;
+        }
+        return this.fingerDeltas;
+    }
+
+    /**
+     * Moves the current fingers to {@link #fingersThen()} and hands out the emptied
+     * older buffer to be filled with this tick's fingers.
+     */
+    public TouchpadState beginPush() {
+        TouchpadState swap = this.prevFingers;
         this.prevFingers = this.fingers;
-        this.fingers = fingers.stream().toList();
+        this.fingers = swap;
+        this.fingers.clear();
+        this.deltasDirty = true;
+        return this.fingers;
+    }
+
+    public TouchpadGestureRecognizer gestures() {
+        return this.gestures;
     }
 
     public int getMaxFingers() {
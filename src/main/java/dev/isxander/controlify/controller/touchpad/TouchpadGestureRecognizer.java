@@ -0,0 +1,268 @@
+package dev.isxander.controlify.controller.touchpad;
+
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+import dev.isxander.controlify.controller.input.InputSlots;
+import net.minecraft.util.Mth;
+
+/**
+ * Recognises {@link TouchpadGestures} from the touchpad fingers, one update at a time.
+ * Only the current gesture's progress is remembered, so memory stays constant
+ * however long fingers stay down.
+ * <p>
+ * Positions are in touchpad units, 0-1 from the top left corner.
+ */
+public class TouchpadGestureRecognizer {
+    private static final float TAP_MAX_TRAVEL = 0.04f;
+    private static final long TAP_MAX_NANOS = 250_000_000L;
+    /** the longest gap between the first tap lifting and the second touching down */
+    private static final long DOUBLE_TAP_MAX_GAP_NANOS = 300_000_000L;
+    private static final float DOUBLE_TAP_MAX_DISTANCE = 0.1f;
+    private static final float SWIPE_MIN_TRAVEL = 0.25f;
+    private static final long SWIPE_MAX_NANOS = 400_000_000L;
+    /** how far two fingers must move before deciding between scrolling and pinching */
+    private static final float TWO_FINGER_SLOP = 0.02f;
+    /** scroll and pinch output per touchpad unit moved in a single update */
+    private static final float ANALOGUE_SCALE = 10f;
+
+    private static final int SWIPE_UP = InputSlots.axis(TouchpadGestures.SWIPE_UP);
+    private static final int SWIPE_DOWN = InputSlots.axis(TouchpadGestures.SWIPE_DOWN);
+    private static final int SWIPE_LEFT = InputSlots.axis(TouchpadGestures.SWIPE_LEFT);
+    private static final int SWIPE_RIGHT = InputSlots.axis(TouchpadGestures.SWIPE_RIGHT);
+    private static final int SCROLL_UP = InputSlots.axis(TouchpadGestures.SCROLL_UP);
+    private static final int SCROLL_DOWN = InputSlots.axis(TouchpadGestures.SCROLL_DOWN);
+    private static final int SCROLL_LEFT = InputSlots.axis(TouchpadGestures.SCROLL_LEFT);
+    private static final int SCROLL_RIGHT = InputSlots.axis(TouchpadGestures.SCROLL_RIGHT);
+    private static final int PINCH_IN = InputSlots.axis(TouchpadGestures.PINCH_IN);
+    private static final int PINCH_OUT = InputSlots.axis(TouchpadGestures.PINCH_OUT);
+    private static final int TAP = InputSlots.axis(TouchpadGestures.TAP);
+    private static final int DOUBLE_TAP = InputSlots.axis(TouchpadGestures.DOUBLE_TAP);
+
+    private enum Phase {
+        IDLE,
+        ONE_FINGER,
+        TWO_FINGERS,
+        SCROLLING,
+        PINCHING,
+        /** fingers that match no gesture, waiting for all of them to lift */
+        IGNORING
+    }
+
+    private Phase phase = Phase.IDLE;
+
+    // one finger
+    private int slot;
+    private long startNanos;
+    private float startX, startY, lastX, lastY;
+    private float maxTravelSq;
+    private boolean clicked;
+
+    // two fingers
+    private int slotA, slotB;
+    private float lastCentroidX, lastCentroidY, lastSpread;
+    private float panX, panY, spreadChange;
+
+    // the previous tap, for double taps
+    private boolean hasLastTap;
+    private long lastTapNanos;
+    private float lastTapX, lastTapY;
+
+    // output of the latest update
+    private float swipeX, swipeY;
+    private float scrollX, scrollY;
+    private float pinch;
+    private boolean tap, doubleTap;
+
+    /**
+     * @param fingers the fingers currently down, in slot order
+     * @param clicked whether the touchpad is pressed in, presses are never taps
+     * @param nanos the time of this update, from {@link System#nanoTime()}
+     */
+    public void update(TouchpadState fingers, boolean clicked, long nanos) {
+        swipeX = swipeY = scrollX = scrollY = pinch = 0;
+        tap = doubleTap = false;
+
+        int count = fingers.fingerCount();
+        switch (phase) {
+            case IDLE -> begin(fingers, clicked, nanos);
+            case ONE_FINGER -> {
+                if (count == 1 && fingers.slot(0) == slot) {
+                    trackOneFinger(fingers, clicked);
+                } else if (count == 0) {
+                    releaseOneFinger(nanos);
+                    phase = Phase.IDLE;
+                } else if (count == 2) {
+                    beginTwoFingers(fingers);
+                } else {
+                    phase = Phase.IGNORING;
+                }
+            }
+            case TWO_FINGERS, SCROLLING, PINCHING -> {
+                if (count == 2 && fingers.slot(0) == slotA && fingers.slot(1) == slotB) {
+                    trackTwoFingers(fingers);
+                } else {
+                    phase = count == 0 ? Phase.IDLE : Phase.IGNORING;
+                }
+            }
+            case IGNORING -> {
+                if (count == 0) phase = Phase.IDLE;
+            }
+        }
+    }
+
+    private void begin(TouchpadState fingers, boolean clicked, long nanos) {
+        switch (fingers.fingerCount()) {
+            case 0 -> {}
+            case 1 -> {
+                phase = Phase.ONE_FINGER;
+                slot = fingers.slot(0);
+                startNanos = nanos;
+                startX = lastX = fingers.x(0);
+                startY = lastY = fingers.y(0);
+                maxTravelSq = 0;
+                this.clicked = clicked;
+            }
+            case 2 -> beginTwoFingers(fingers);
+            default -> phase = Phase.IGNORING;
+        }
+    }
+
+    private void trackOneFinger(TouchpadState fingers, boolean clicked) {
+        lastX = fingers.x(0);
+        lastY = fingers.y(0);
+        float dx = lastX - startX;
+        float dy = lastY - startY;
+        maxTravelSq = Math.max(maxTravelSq, dx * dx + dy * dy);
+        this.clicked |= clicked;
+    }
+
+    private void releaseOneFinger(long nanos) {
+        long duration = nanos - startNanos;
+
+        if (!clicked && duration <= TAP_MAX_NANOS && maxTravelSq <= TAP_MAX_TRAVEL * TAP_MAX_TRAVEL) {
+            tap = true;
+
+            float dx = startX - lastTapX;
+            float dy = startY - lastTapY;
+            if (hasLastTap
+                    && startNanos - lastTapNanos <= DOUBLE_TAP_MAX_GAP_NANOS
+                    && dx * dx + dy * dy <= DOUBLE_TAP_MAX_DISTANCE * DOUBLE_TAP_MAX_DISTANCE) {
+                // only the first tap of the pair is a tap, so binding both doesn't act twice
+                tap = false;
+                doubleTap = true;
+                // a third tap starts a new pair
+                hasLastTap = false;
+            } else {
+                hasLastTap = true;
+                lastTapNanos = nanos;
+                lastTapX = startX;
+                lastTapY = startY;
+            }
+            return;
+        }
+
+        hasLastTap = false;
+
+        float dx = lastX - startX;
+        float dy = lastY - startY;
+        if (duration <= SWIPE_MAX_NANOS && dx * dx + dy * dy >= SWIPE_MIN_TRAVEL * SWIPE_MIN_TRAVEL) {
+            // a swipe only goes one way, whichever it mostly went
+            if (Math.abs(dx) >= Math.abs(dy)) {
+                swipeX = Math.signum(dx);
+            } else {
+                swipeY = Math.signum(dy);
+            }
+        }
+    }
+
+    private void beginTwoFingers(TouchpadState fingers) {
+        phase = Phase.TWO_FINGERS;
+        hasLastTap = false;
+        slotA = fingers.slot(0);
+        slotB = fingers.slot(1);
+        lastCentroidX = (fingers.x(0) + fingers.x(1)) / 2;
+        lastCentroidY = (fingers.y(0) + fingers.y(1)) / 2;
+        lastSpread = spread(fingers);
+        panX = panY = spreadChange = 0;
+    }
+
+    private void trackTwoFingers(TouchpadState fingers) {
+        float centroidX = (fingers.x(0) + fingers.x(1)) / 2;
+        float centroidY = (fingers.y(0) + fingers.y(1)) / 2;
+        float spread = spread(fingers);
+
+        float dx = centroidX - lastCentroidX;
+        float dy = centroidY - lastCentroidY;
+        float dSpread = spread - lastSpread;
+
+        lastCentroidX = centroidX;
+        lastCentroidY = centroidY;
+        lastSpread = spread;
+
+        if (phase == Phase.TWO_FINGERS) {
+            panX += dx;
+            panY += dy;
+            spreadChange += dSpread;
+
+            float pan = Mth.sqrt(panX * panX + panY * panY);
+            float spreadAbs = Math.abs(spreadChange);
+            if (Math.max(pan, spreadAbs) < TWO_FINGER_SLOP)
+                return;
+
+            phase = spreadAbs > pan ? Phase.PINCHING : Phase.SCROLLING;
+        }
+
+        if (phase == Phase.SCROLLING) {
+            scrollX = dx * ANALOGUE_SCALE;
+            scrollY = dy * ANALOGUE_SCALE;
+        } else {
+            pinch = dSpread * ANALOGUE_SCALE;
+        }
+    }
+
+    private static float spread(TouchpadState fingers) {
+        float dx = fingers.x(1) - fingers.x(0);
+        float dy = fingers.y(1) - fingers.y(0);
+        return Mth.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Writes the gestures recognised by the latest {@link #update(TouchpadState, boolean, long)} into the state.
+     */
+    public void writeTo(DenseControllerState state) {
+        state.setAxis(SWIPE_UP, positive(-swipeY));
+        state.setAxis(SWIPE_DOWN, positive(swipeY));
+        state.setAxis(SWIPE_LEFT, positive(-swipeX));
+        state.setAxis(SWIPE_RIGHT, positive(swipeX));
+        state.setAxis(SCROLL_UP, positive(-scrollY));
+        state.setAxis(SCROLL_DOWN, positive(scrollY));
+        state.setAxis(SCROLL_LEFT, positive(-scrollX));
+        state.setAxis(SCROLL_RIGHT, positive(scrollX));
+        state.setAxis(PINCH_IN, positive(-pinch));
+        state.setAxis(PINCH_OUT, positive(pinch));
+        state.setAxis(TAP, tap ? 1 : 0);
+        state.setAxis(DOUBLE_TAP, doubleTap ? 1 : 0);
+    }
+
+    /**
+     * Writes every gesture as inactive. Safe to call from any thread, for states that are
+     * read before gestures are written over them.
+     */
+    public static void writeIdle(DenseControllerState state) {
+        state.setAxis(SWIPE_UP, 0);
+        state.setAxis(SWIPE_DOWN, 0);
+        state.setAxis(SWIPE_LEFT, 0);
+        state.setAxis(SWIPE_RIGHT, 0);
+        state.setAxis(SCROLL_UP, 0);
+        state.setAxis(SCROLL_DOWN, 0);
+        state.setAxis(SCROLL_LEFT, 0);
+        state.setAxis(SCROLL_RIGHT, 0);
+        state.setAxis(PINCH_IN, 0);
+        state.setAxis(PINCH_OUT, 0);
+        state.setAxis(TAP, 0);
+        state.setAxis(DOUBLE_TAP, 0);
+    }
+
+    private static float positive(float value) {
+        return Mth.clamp(value, 0, 1);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.isxander.controlify.controller.touchpad;
+
+import dev.isxander.controlify.controller.input.InputSlots;
+import dev.isxander.controlify.utils.CUtil;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Touchpad gestures, exposed to bindings as axes in the controller state.
+ * Swipes and taps pulse to 1 for a single tick, scrolling and pinching are
+ * analogue and scale with how far the fingers moved that tick.
+ */
+public final class TouchpadGestures {
+    private TouchpadGestures() {
+    }
+
+    private static final String PREFIX = "gesture/";
+
+    public static final ResourceLocation SWIPE_UP = gesture("swipe_up");
+    public static final ResourceLocation SWIPE_DOWN = gesture("swipe_down");
+    public static final ResourceLocation SWIPE_LEFT = gesture("swipe_left");
+    public static final ResourceLocation SWIPE_RIGHT = gesture("swipe_right");
+
+    public static final ResourceLocation SCROLL_UP = gesture("scroll_up");
+    public static final ResourceLocation SCROLL_DOWN = gesture("scroll_down");
+    public static final ResourceLocation SCROLL_LEFT = gesture("scroll_left");
+    public static final ResourceLocation SCROLL_RIGHT = gesture("scroll_right");
+
+    public static final ResourceLocation PINCH_IN = gesture("pinch_in");
+    public static final ResourceLocation PINCH_OUT = gesture("pinch_out");
+
+    public static final ResourceLocation TAP = gesture("tap");
+    public static final ResourceLocation DOUBLE_TAP = gesture("double_tap");
+
+    public static boolean isGesture(ResourceLocation input) {
+        return "controlify".equals(input.getNamespace()) && input.getPath().startsWith(PREFIX);
+    }
+
+    private static ResourceLocation gesture(String id) {
+        ResourceLocation gesture = CUtil.rl(PREFIX + id);
+        InputSlots.axis(gesture);
+        return gesture;
+    }
+}
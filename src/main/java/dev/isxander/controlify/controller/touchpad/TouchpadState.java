@@ -1,14 +1,77 @@
 package dev.isxander.controlify.controller.touchpad;
 
-import org.joml.Vector2fc;
+/**
+ * The fingers on a touchpad, backed by fixed-capacity primitive arrays.
+ */
+public class TouchpadState {
+    private final int maxFingers;
 
-import java.util.List;
+    private final int[] slots;
+    private final float[] x, y;
+    private final float[] pressure;
+    private int fingerCount;
+
+    public TouchpadState(int maxFingers) {
+        this.maxFingers = maxFingers;
+        this.slots = new int[maxFingers];
+        this.x = new float[maxFingers];
+        this.y = new float[maxFingers];
+        this.pressure = new float[maxFingers];
+    }
 
-public record TouchpadState(List<Finger> fingers, int maxFingers) {
     public static TouchpadState empty(int maxFingers) {
-        return new TouchpadState(List.of(), maxFingers);
+        return new TouchpadState(maxFingers);
+    }
+
+    public int fingerCount() {
+        return this.fingerCount;
+    }
+
+    public boolean isEmpty() {
+        return this.fingerCount == 0;
+    }
+
+    public int maxFingers() {
+        return this.maxFingers;
+    }
+
+    /**
+     * @return the hardware slot the finger at {@code index} was read from, which stays the same for as long as it touches
+     */
+    public int slot(int index) {
+        return this.slots[index];
     }
 
-    public record Finger(Vector2fc position, float pressure) {
+    /**
+     * @return the horizontal position of the finger at {@code index}, in the range 0-1
+     */
+    public float x(int index) {
+        return this.x[index];
+    }
+
+    /**
+     * @return the vertical position of the finger at {@code index}, in the range 0-1
+     */
+    public float y(int index) {
+        return this.y[index];
+    }
+
+    public float pressure(int index) {
+        return this.pressure[index];
+    }
+
+    public void clear() {
+        this.fingerCount = 0;
+    }
+
+    public void addFinger(int slot, float x, float y, float pressure) {
+        if (this.fingerCount >= this.maxFingers)
+            throw new IllegalStateException("Touchpad state is full (" + this.maxFingers + " fingers)");
+
+        int index = this.fingerCount++;
+        this.slots[index] = slot;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.pressure[index] = pressure;
     }
 }
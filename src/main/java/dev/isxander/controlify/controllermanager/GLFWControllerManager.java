@@ -32,8 +32,22 @@ public class GLFWControllerManager extends AbstractControllerManager {
             try {
                 GLFWUniqueControllerID ucid = new GLFWUniqueControllerID(jid);
                 if (event == GLFW.GLFW_CONNECTED) {
-                    tryCreate(ucid, controlify.controllerHIDService().fetchType(jid))
-                            .ifPresent(controller -> onControllerConnected(controller, true));
+                    // enumerating HID devices is slow, so the controller is created once that finishes
+                    controlify.controllerHIDService().scanInBackground().whenCompleteAsync((v, th) -> {
+                        if (th != null)
+                            CUtil.LOGGER.error("Failed to scan HID devices", th);
+
+                        try {
+                            // it may have disconnected while scanning
+                            if (!GLFW.glfwJoystickPresent(jid))
+                                return;
+
+                            tryCreate(ucid, controlify.controllerHIDService().fetchType(jid))
+                                    .ifPresent(controller -> onControllerConnected(controller, true));
+                        } catch (Throwable e) {
+                            CUtil.LOGGER.error("Failed to handle controller connect event", e);
+                        }
+                    }, minecraft);
                 } else if (event == GLFW.GLFW_DISCONNECTED) {
                     getController(ucid).ifPresent(this::onControllerRemoved);
                 }
@@ -45,10 +59,20 @@ public class GLFWControllerManager extends AbstractControllerManager {
 
     @Override
     public void discoverControllers() {
+        boolean scanned = false;
         for (int i = 0; i < GLFW.GLFW_JOYSTICK_LAST; i++) {
             if (!GLFW.glfwJoystickPresent(i))
                 continue;
 
+            if (!scanned) {
+                scanned = true;
+                try {
+                    controlify.controllerHIDService().scan();
+                } catch (Throwable e) {
+                    CUtil.LOGGER.error("Failed to scan HID devices", e);
+                }
+            }
+
             UniqueControllerID ucid = new GLFWUniqueControllerID(i);
 
             Optional<ControllerEntity> controllerOpt = tryCreate(ucid, controlify.controllerHIDService().fetchType(i));
@@ -0,0 +1,128 @@
+package dev.isxander.controlify.controllermanager;
+
+import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PolledDriver;
+import dev.isxander.controlify.utils.CUtil;
+import net.minecraft.util.Mth;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Samples controller input at a fixed rate independent of the client tick, publishing
+ * each sample through the drivers' {@link dev.isxander.controlify.controller.input.ControllerStateExchanger}.
+ * <p>
+ * Drivers must be removed from the poller before they are closed; removal waits for any
+ * in-flight poll to finish so a driver is never read after its native handle is freed.
+ */
+public class InputPollingThread {
+    public static final int MIN_RATE = 250;
+    public static final int MAX_RATE = 1000;
+
+    private final Runnable updateNatives;
+    private final IntSupplier rate;
+
+    private final Object lock = new Object();
+    private final List<PolledDriver> drivers = new ArrayList<>();
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile boolean failed;
+
+    /**
+     * @param updateNatives refreshes the native input state before every poll, called on the polling thread
+     * @param rate the polling rate in hertz, clamped to {@link #MIN_RATE}..{@link #MAX_RATE}
+     */
+    public InputPollingThread(Runnable updateNatives, IntSupplier rate) {
+        this.updateNatives = updateNatives;
+        this.rate = rate;
+    }
+
+    public void start() {
+        if (running || failed) return;
+
+        running = true;
+        thread = new Thread(this::run, "Controlify Input Polling");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+
+        CUtil.LOGGER.info("Started background input polling at {} Hz", currentRate());
+    }
+
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        synchronized (lock) {
+            drivers.forEach(PolledDriver::stopBackgroundPolling);
+        }
+
+        CUtil.LOGGER.info("Stopped background input polling");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void add(Driver driver) {
+        if (!(driver instanceof PolledDriver polled)) return;
+
+        synchronized (lock) {
+            drivers.add(polled);
+        }
+    }
+
+    public void remove(Driver driver) {
+        synchronized (lock) {
+            if (driver instanceof PolledDriver polled && drivers.remove(polled)) {
+                polled.stopBackgroundPolling();
+            }
+        }
+    }
+
+    private void run() {
+        long nextPoll = System.nanoTime();
+
+        while (running) {
+            synchronized (lock) {
+                try {
+                    updateNatives.run();
+                    for (int i = 0; i < drivers.size(); i++) {
+                        drivers.get(i).pollInput();
+                    }
+                } catch (Throwable t) {
+                    CUtil.LOGGER.error("Background input polling failed, falling back to tick polling", t);
+                    failed = true;
+                    running = false;
+                    drivers.forEach(PolledDriver::stopBackgroundPolling);
+                    return;
+                }
+            }
+
+            nextPoll += TimeUnit.SECONDS.toNanos(1) / currentRate();
+            long now = System.nanoTime();
+            if (nextPoll - now > 0) {
+                LockSupport.parkNanos(this, nextPoll - now);
+            } else {
+                // fell behind, don't try to catch up with a burst of polls
+                nextPoll = now;
+            }
+        }
+    }
+
+    private int currentRate() {
+        return Mth.clamp(rate.getAsInt(), MIN_RATE, MAX_RATE);
+    }
+}
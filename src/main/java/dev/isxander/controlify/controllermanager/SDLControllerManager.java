@@ -7,6 +7,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.id.ControllerType;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.driver.sdl.SDL3GamepadDriver;
 import dev.isxander.controlify.driver.sdl.SDL3JoystickDriver;
@@ -21,6 +22,8 @@ import dev.isxander.sdl3java.api.iostream.SDL_IOStream;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickGUID;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.jna.size_t;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceProvider;
 import org.apache.commons.lang3.Validate;
@@ -42,6 +45,10 @@ public class SDLControllerManager extends AbstractControllerManager {
 
     private SDL_Event event = new SDL_Event();
 
+    private final InputPollingThread inputPoller;
+    // sensor events only carry the joystick instance ID
+    private final Int2ObjectMap<SDL3GamepadDriver> gamepadsByJid = new Int2ObjectOpenHashMap<>();
+
     // must keep a reference to prevent GC from collecting it and the callback failing
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private final EventFilter eventFilter;
@@ -50,10 +57,21 @@ public class SDLControllerManager extends AbstractControllerManager {
         Validate.isTrue(SDL3NativesManager.isLoaded(), "SDL3 natives must be loaded before creating SDLControllerManager");
 
         SDL_SetEventFilter(eventFilter = new EventFilter(), Pointer.NULL);
+
+        this.inputPoller = new InputPollingThread(
+                SDLControllerManager::updateNatives,
+                () -> controlify.config().globalSettings().inputPollingRate
+        );
     }
 
     @Override
     public void tick(boolean outOfFocus) {
+        if (controlify.config().globalSettings().backgroundInputPolling) {
+            inputPoller.start();
+        } else {
+            inputPoller.stop();
+        }
+
         super.tick(outOfFocus);
 
         SDL_PumpEvents();
@@ -93,13 +111,50 @@ public class SDLControllerManager extends AbstractControllerManager {
                                     () -> CUtil.LOGGER.warn("Controller removed but not found: {}", jid.intValue())
                             );
                 }
+
+                case SDL_EVENT_GAMEPAD_SENSOR_UPDATE -> {
+                    SDL3GamepadDriver driver = gamepadsByJid.get(event.gsensor.which.intValue());
+                    if (driver != null) {
+                        // not every platform reports when the sample was taken
+                        long timestamp = event.gsensor.sensor_timestamp != 0 ? event.gsensor.sensor_timestamp : event.gsensor.timestamp;
+                        driver.handleSensorUpdate(event.gsensor.sensor, event.gsensor.data, timestamp);
+                    }
+                }
             }
         }
 
+        // the polling thread updates the natives itself, don't contend with it for SDL's joystick lock
+        if (!inputPoller.isRunning()) {
+            updateNatives();
+        }
+    }
+
+    private static void updateNatives() {
         SDL_UpdateGamepads();
         SDL_UpdateJoysticks();
     }
 
+    @Override
+    protected void addController(UniqueControllerID ucid, ControllerEntity controller, Driver driver) {
+        super.addController(ucid, controller, driver);
+        inputPoller.add(driver);
+    }
+
+    @Override
+    public void closeController(String uid) {
+        // the poller must let go of the driver before its native handle is freed
+        Driver driver = driversByUid.get(uid);
+        inputPoller.remove(driver);
+        gamepadsByJid.values().remove(driver);
+        super.closeController(uid);
+    }
+
+    @Override
+    public void close() {
+        inputPoller.stop();
+        super.close();
+    }
+
     @Override
     public void discoverControllers() {
         SDL_JoystickID[] joysticks = SDL_GetJoysticks();
@@ -125,6 +180,7 @@ public class SDLControllerManager extends AbstractControllerManager {
         if (isGamepad) {
             SDL3GamepadDriver driver = new SDL3GamepadDriver(jid, hidInfo.type(), uid, ucid, hidInfo.hidDevice());
             this.addController(ucid, driver.getController(), driver);
+            this.gamepadsByJid.put(jid.intValue(), driver);
 
             return Optional.of(driver.getController());
         } else {
@@ -230,6 +286,7 @@ public class SDLControllerManager extends AbstractControllerManager {
             switch (event.type) {
                 case SDL_EVENT_JOYSTICK_ADDED:
                 case SDL_EVENT_JOYSTICK_REMOVED:
+                case SDL_EVENT_GAMEPAD_SENSOR_UPDATE:
                     return SDL_TRUE;
                 default:
                     return SDL_FALSE;
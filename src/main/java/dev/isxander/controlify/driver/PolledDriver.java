@@ -0,0 +1,16 @@
+package dev.isxander.controlify.driver;
+
+/**
+ * A driver whose input may be sampled from the background input polling thread.
+ */
+public interface PolledDriver extends Driver {
+    /**
+     * Samples input on the polling thread and publishes it for the next {@link #update(boolean)}.
+     */
+    void pollInput();
+
+    /**
+     * Called once the polling thread no longer feeds this driver, so it goes back to sampling input itself.
+     */
+    void stopBackgroundPolling();
+}
@@ -5,7 +5,7 @@ import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.ControllerInfo;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.hid.HIDDevice;
@@ -20,6 +20,8 @@ import static org.lwjgl.glfw.GLFW.*;
 
 public class GLFWGamepadDriver implements Driver {
     private final int jid;
+    private final DenseControllerState inputState = new DenseControllerState();
+    private final GLFWGamepadState glfwState = GLFWGamepadState.create();
     private final String guid;
 
     private final ControllerEntity controller;
@@ -55,7 +57,7 @@ public class GLFWGamepadDriver implements Driver {
 
     private void updateInput() {
         GLFWGamepadState glfwState = this.getGamepadState();
-        ControllerStateImpl state = new ControllerStateImpl();
+        DenseControllerState state = this.inputState;
 
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(glfwState.axes(org.lwjgl.glfw.GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y)));
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(glfwState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_X)));
@@ -94,9 +96,8 @@ public class GLFWGamepadDriver implements Driver {
     }
 
     private GLFWGamepadState getGamepadState() {
-        GLFWGamepadState state = GLFWGamepadState.create();
-        glfwGetGamepadState(jid, state);
-        return state;
+        glfwGetGamepadState(jid, this.glfwState);
+        return this.glfwState;
     }
 
     private float positiveAxis(float value) {
@@ -6,7 +6,7 @@ import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.ControllerInfo;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.hid.HIDDevice;
@@ -23,6 +23,7 @@ import static org.lwjgl.glfw.GLFW.*;
 
 public class GLFWJoystickDriver implements Driver {
     private final int jid;
+    private final DenseControllerState inputState = new DenseControllerState();
     private final String guid;
     private final String name;
     private final int numButtons, numAxes, numHats;
@@ -65,7 +66,7 @@ public class GLFWJoystickDriver implements Driver {
     private void updateInput() {
         GLFWJoystickState glfwState = this.getJoystickState();
 
-        ControllerStateImpl state = new ControllerStateImpl();
+        DenseControllerState state = this.inputState;
 
         for (int i = 0; i < numAxes; i++) {
             float axis = glfwState.axes().get(i);
@@ -2,6 +2,7 @@ package dev.isxander.controlify.driver.sdl;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
+import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.FloatByReference;
 import com.sun.jna.ptr.IntByReference;
@@ -11,23 +12,24 @@ import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
 import dev.isxander.controlify.controller.dualsense.DualSenseComponent;
 import dev.isxander.controlify.controller.dualsense.HDHapticComponent;
 import dev.isxander.controlify.controller.dualsense.HapticBufferLibrary;
+import dev.isxander.controlify.controller.dualsense.HapticMixer;
 import dev.isxander.controlify.controller.misc.BluetoothDeviceComponent;
 import dev.isxander.controlify.controller.touchpad.TouchpadComponent;
+import dev.isxander.controlify.controller.touchpad.TouchpadGestureRecognizer;
 import dev.isxander.controlify.controller.touchpad.TouchpadState;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
 import dev.isxander.controlify.controller.input.GamepadInputs;
-import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+import dev.isxander.controlify.controller.input.ControllerStateExchanger;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.debug.DebugProperties;
-import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PolledDriver;
 import dev.isxander.controlify.hid.HIDDevice;
 import dev.isxander.controlify.hid.HIDIdentifier;
-import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.sdl3java.api.audio.*;
@@ -38,11 +40,9 @@ import dev.isxander.sdl3java.api.sensor.SDL_SensorType;
 import net.minecraft.Util;
 import net.minecraft.util.Mth;
 import org.jetbrains.annotations.Nullable;
-import org.joml.Vector2f;
 
-import javax.sound.sampled.AudioFormat;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Optional;
 import java.util.stream.IntStream;
 import java.util.HexFormat;
@@ -60,17 +60,33 @@ import static dev.isxander.sdl3java.api.power.SDL_PowerState.*;
 import static dev.isxander.sdl3java.api.properties.SdlProperties.*;
 import static dev.isxander.sdl3java.api.sensor.SDL_SensorType.*;
 
-public class SDL3GamepadDriver implements Driver {
-    private static final int AUDIO_STREAM_TIMEOUT_TICKS = 5 * 60 * 60 * 20; // 5 minutes
+public class SDL3GamepadDriver implements PolledDriver {
+    // longer gaps between gyro samples (e.g. the game was paused) are not integrated
+    private static final float MAX_GYRO_SAMPLE_SECONDS = 0.1f;
 
     private SDL_Gamepad ptrGamepad;
+    private final DenseControllerState inputState = new DenseControllerState();
+    private final ControllerStateExchanger polledInput = new ControllerStateExchanger();
     private final ControllerEntity controller;
 
-    private final boolean isGryoSupported;
+    private final boolean isGryoSupported, isAccelSupported;
+    private final @Nullable GyroComponent gyroComponent;
+    // one buffer per thread reading the sensors, tick and polling thread
+    private final SensorBuffer sensorTickBuffer = new SensorBuffer(), sensorPollBuffer = new SensorBuffer();
+    // the accelerometer is only enabled while a gyro space or drift correction needs it
+    private volatile boolean accelEnabled;
+    private long lastGyroPollNanos;
+    // sensor events are integrated on the client thread while the polling thread isn't running
+    private final float[] eventAccel = new float[3];
+    private boolean hasEventAccel;
+    private long lastGyroEventNanos;
     private final boolean isRumbleSupported, isTriggerRumbleSupported;
+    private final @Nullable RumbleComponent rumbleComponent;
 
     private final int numTouchpads;
     private final int maxTouchpadFingers;
+    private final @Nullable TouchpadComponent touchpadComponent;
+    private final TouchpadBuffer touchpadBuffer = new TouchpadBuffer();
 
     private final String guid;
     private final String serial;
@@ -80,7 +96,11 @@ public class SDL3GamepadDriver implements Driver {
     private SDL_AudioDeviceID dualsenseAudioDev;
     @Nullable
     private SDL_AudioSpec dualsenseAudioSpec;
-    private final List<AudioStreamHandle> dualsenseAudioHandles;
+    private @Nullable SDL_AudioStream hapticStream;
+    private @Nullable HapticMixer hapticMixer;
+    private @Nullable HDHapticComponent hdHapticComponent;
+    // whether the motors were stopped for synthesised rumble, only touched by rumble writes
+    private boolean motorsReplaced;
 
     public SDL3GamepadDriver(SDL_JoystickID jid, ControllerType type, String uid, UniqueControllerID ucid, Optional<HIDDevice> hid) {
         this.ptrGamepad = SDL_OpenGamepad(jid);
@@ -110,6 +130,7 @@ public class SDL3GamepadDriver implements Driver {
             }
         }
         this.isGryoSupported = SDL_GamepadHasSensor(ptrGamepad, SDL_SensorType.SDL_SENSOR_GYRO) == SDL_TRUE;
+        this.isAccelSupported = SDL_GamepadHasSensor(ptrGamepad, SDL_SensorType.SDL_SENSOR_ACCEL) == SDL_TRUE;
         this.isRumbleSupported = SDL_GetBooleanProperty(properties, SDL_PROP_GAMEPAD_CAP_RUMBLE_BOOLEAN, false) == SDL_TRUE;
         this.isTriggerRumbleSupported = SDL_GetBooleanProperty(properties, SDL_PROP_GAMEPAD_CAP_TRIGGER_RUMBLE_BOOLEAN, false) == SDL_TRUE;
         this.numTouchpads = SDL_GetNumGamepadTouchpads(ptrGamepad);
@@ -119,7 +140,6 @@ public class SDL3GamepadDriver implements Driver {
         this.controller = new ControllerEntity(info);
 
         // open audio device for dualsense hd haptics
-        this.dualsenseAudioHandles = new ArrayList<>();
         // macOS HD haptics are broken
         if (CUtil.rl("dualsense").equals(type.namespace())) {
             controller.setComponent(new DualSenseComponent(), DualSenseComponent.ID);
@@ -143,32 +163,51 @@ public class SDL3GamepadDriver implements Driver {
                     this.dualsenseAudioSpec = devSpec;
                     this.dualsenseAudioDev = SDL_OpenAudioDevice(dualsenseAudioDev, (SDL_AudioSpec.ByReference) this.dualsenseAudioSpec);
 
-                    HDHapticComponent hdHapticComponent = new HDHapticComponent();
-                    hdHapticComponent.acceptPlayHaptic(this::playHaptic);
-                    this.controller.setComponent(hdHapticComponent, HDHapticComponent.ID);
+                    HapticBufferLibrary.HapticFormat hapticFormat = hapticFormatFor(this.dualsenseAudioSpec);
+                    // one stream for the lifetime of the controller, everything playing is mixed into it
+                    this.hapticStream = SDL_CreateAudioStream(audioSpecFor(hapticFormat), this.dualsenseAudioSpec);
+                    SDL_BindAudioStream(this.dualsenseAudioDev, this.hapticStream);
+                    this.hapticMixer = new HapticMixer(hapticFormat, new HapticStreamOutput(this.hapticStream));
+
+                    this.hdHapticComponent = new HDHapticComponent();
+                    this.hdHapticComponent.acceptPlayHaptic(hapticFormat, this.hapticMixer::play);
+                    this.controller.setComponent(this.hdHapticComponent, HDHapticComponent.ID);
                 } else {
                     this.dualsenseAudioDev = null;
                     this.dualsenseAudioSpec = null;
+                    this.hdHapticComponent = null;
 
                     controller.setComponent(new BluetoothDeviceComponent(), BluetoothDeviceComponent.ID);
                 }
             }
         }
 
-        this.controller.setComponent(new InputComponent(this.controller, 21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId()), InputComponent.ID);
+        InputComponent inputComponent = new InputComponent(this.controller, 21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId());
+        inputComponent.attachPolledInput(this.polledInput);
+        this.controller.setComponent(inputComponent, InputComponent.ID);
         this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.ID);
         if (this.isGryoSupported) {
             SDL_SetGamepadSensorEnabled(ptrGamepad, SDL_SensorType.SDL_SENSOR_GYRO, true);
-            this.controller.setComponent(new GyroComponent(), GyroComponent.ID);
+            this.gyroComponent = new GyroComponent(this.isAccelSupported);
+            this.controller.setComponent(this.gyroComponent, GyroComponent.ID);
+        } else {
+            this.gyroComponent = null;
         }
         if (this.isRumbleSupported) {
-            this.controller.setComponent(new RumbleComponent(), RumbleComponent.ID);
+            this.rumbleComponent = new RumbleComponent();
+            this.rumbleComponent.attachOutput(this::rumble);
+            this.controller.setComponent(this.rumbleComponent, RumbleComponent.ID);
+        } else {
+            this.rumbleComponent = null;
         }
         if (this.isTriggerRumbleSupported) {
             this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.ID);
         }
         if (this.numTouchpads > 0) {
-            this.controller.setComponent(new TouchpadComponent(this.maxTouchpadFingers), TouchpadComponent.ID);
+            this.touchpadComponent = new TouchpadComponent(this.maxTouchpadFingers);
+            this.controller.setComponent(this.touchpadComponent, TouchpadComponent.ID);
+        } else {
+            this.touchpadComponent = null;
         }
 
         this.controller.finalise();
@@ -185,34 +224,77 @@ public class SDL3GamepadDriver implements Driver {
             throw new IllegalStateException("Tried to update controller even though it's closed.");
         }
 
+        // gestures are written into the input state, so fingers must be read first
+        this.updateTouchpad();
         this.updateInput();
         this.updateRumble();
         this.updateGyro();
-        this.updateTouchpad();
         this.updateBatteryLevel();
-        this.updateHDHaptic();
         this.updateDualSense();
     }
 
+    @Override
+    public void pollInput() {
+        this.readInput(this.polledInput.beginWrite());
+        this.polledInput.publish();
+
+        this.pollGyro();
+    }
+
+    @Override
+    public void stopBackgroundPolling() {
+        this.polledInput.deactivate();
+        this.lastGyroPollNanos = 0;
+    }
+
     @Override
     public void close() {
         if (ptrGamepad == null) {
             throw new IllegalStateException("Gamepad already closed.");
         }
 
+        // waits for the rumble mixer to stop using the gamepad
+        if (rumbleComponent != null) {
+            rumbleComponent.detachOutput();
+        }
+
         SDL_CloseGamepad(ptrGamepad);
         ptrGamepad = null;
 
+        sensorTickBuffer.close();
+        sensorPollBuffer.close();
+
+        // waits for the haptic mixer to stop writing to the stream
+        if (hapticMixer != null) {
+            hapticMixer.close();
+        }
+        if (hapticStream != null) {
+            SDL_DestroyAudioStream(hapticStream);
+        }
         if (dualsenseAudioDev != null) {
             SDL_CloseAudioDevice(dualsenseAudioDev);
         }
-        for (AudioStreamHandle handle : dualsenseAudioHandles) {
-            handle.close();
-        }
     }
 
     private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
+        DenseControllerState state;
+        if (this.polledInput.isActive()) {
+            state = this.polledInput.acquire();
+        } else {
+            state = this.inputState;
+            this.readInput(state);
+        }
+
+        if (this.touchpadComponent != null) {
+            TouchpadGestureRecognizer gestures = this.touchpadComponent.gestures();
+            gestures.update(this.touchpadComponent.fingersNow(), state.isButtonDown(GamepadInputs.TOUCHPAD_BUTTON), System.nanoTime());
+            gestures.writeTo(state);
+        }
+
+        this.controller.input().orElseThrow().pushState(state);
+    }
+
+    private void readInput(DenseControllerState state) {
         // Axis values are in the range [-32768, 32767] (short)
         // https://wiki.libsdl.org/SDL3/SDL_GameControllerGetAxis
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFTX))));
@@ -263,21 +345,15 @@ public class SDL3GamepadDriver implements Driver {
         state.setButton(GamepadInputs.RIGHT_PADDLE_2_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE2) == SDL_PRESSED);
         state.setButton(GamepadInputs.TOUCHPAD_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_TOUCHPAD) == SDL_PRESSED);
 
-        this.controller.input().orElseThrow().pushState(state);
+        // recognised on the client thread, cleared here so no stale gesture lingers in reused buffers
+        if (this.touchpadComponent != null)
+            TouchpadGestureRecognizer.writeIdle(state);
     }
 
     private void updateRumble() {
-        if (isRumbleSupported) {
-            Optional<RumbleState> stateOpt = this.controller
-                    .rumble()
-                    .orElseThrow()
-                    .consumeRumble();
-
-            stateOpt.ifPresent(state -> {
-                if (SDL_RumbleGamepad(ptrGamepad, (short)(state.strong() * 0xFFFF), (short)(state.weak() * 0xFFFF), 5000) != 0) {
-                    CUtil.LOGGER.error("Could not rumble gamepad: {}", SDL_GetError());
-                }
-            });
+        // only used if the rumble mixer isn't driving the motors directly
+        if (rumbleComponent != null) {
+            rumbleComponent.consumeRumble().ifPresent(state -> this.rumble(state.strong(), state.weak()));
         }
 
         if (isTriggerRumbleSupported) {
@@ -294,43 +370,111 @@ public class SDL3GamepadDriver implements Driver {
         }
     }
 
+    private void rumble(float strong, float weak) {
+        if (hapticMixer != null) {
+            boolean synthesise = hdHapticComponent != null && hdHapticComponent.synthesisesRumble();
+            hapticMixer.synthesise(synthesise ? strong : 0f, synthesise ? weak : 0f);
+            if (synthesise) {
+                // the synthesised haptics replace the motors, which only need stopping once
+                if (motorsReplaced)
+                    return;
+                motorsReplaced = true;
+                strong = 0f;
+                weak = 0f;
+            } else {
+                motorsReplaced = false;
+            }
+        }
+
+        if (SDL_RumbleGamepad(ptrGamepad, (short) Math.round(strong * 0xFFFF), (short) Math.round(weak * 0xFFFF), 5000) != 0) {
+            CUtil.LOGGER.error("Could not rumble gamepad: {}", SDL_GetError());
+        }
+    }
+
     private void updateGyro() {
-        if (!isGryoSupported) return;
+        if (gyroComponent == null) return;
+
+        boolean wantAccel = isAccelSupported
+                && (gyroComponent.effectiveSpace().requiresGravity() || gyroComponent.confObj().continuousCalibration);
+        if (wantAccel != accelEnabled) {
+            SDL_SetGamepadSensorEnabled(ptrGamepad, SDL_SensorType.SDL_SENSOR_ACCEL, wantAccel);
+            gyroComponent.resetFusion();
+            accelEnabled = wantAccel;
+            hasEventAccel = false;
+        }
 
-        float[] gyro = new float[3];
+        SensorBuffer sensors = this.sensorTickBuffer;
+        if (!sensors.read(ptrGamepad, accelEnabled)) return;
+        float[] gyro = sensors.gyro;
 
-        try (Memory memory = new Memory(gyro.length * Float.BYTES)) {
-            if (SDL_GetGamepadSensorData(ptrGamepad, SDL_SENSOR_GYRO, memory, 3) == 0) {
-                memory.read(0, gyro, 0, gyro.length);
+        gyroComponent.setState(gyro[0], gyro[1], gyro[2]);
+    }
 
-                this.controller.gyro().orElseThrow().setState(
-                        new GyroState(gyro[0], gyro[1], gyro[2])
-                );
-            } else {
-                CUtil.LOGGER.error("Could not get gyro data: {}", SDL_GetError());
+    /**
+     * Integrates one timestamped sample from a {@code SDL_EVENT_GAMEPAD_SENSOR_UPDATE} event,
+     * so every sample the controller reported between ticks counts towards the rotation.
+     *
+     * @param timestampNanos when the controller took the sample
+     */
+    public void handleSensorUpdate(int sensor, float[] data, long timestampNanos) {
+        if (gyroComponent == null) return;
+
+        // the polling thread reads the sensors itself when it is running
+        if (this.polledInput.isActive()) {
+            this.lastGyroEventNanos = 0;
+            return;
+        }
+
+        if (sensor == SDL_SENSOR_ACCEL) {
+            if (!accelEnabled) return;
+            System.arraycopy(data, 0, eventAccel, 0, eventAccel.length);
+            hasEventAccel = true;
+        } else if (sensor == SDL_SENSOR_GYRO) {
+            if (this.lastGyroEventNanos != 0) {
+                float seconds = Math.min((timestampNanos - this.lastGyroEventNanos) / 1e9f, MAX_GYRO_SAMPLE_SECONDS);
+                if (seconds > 0)
+                    accumulateGyro(data, hasEventAccel ? eventAccel : null, seconds);
             }
+            this.lastGyroEventNanos = timestampNanos;
         }
     }
 
+    private void pollGyro() {
+        if (gyroComponent == null) return;
+
+        SensorBuffer sensors = this.sensorPollBuffer;
+        if (!sensors.read(ptrGamepad, accelEnabled)) return;
+
+        long now = System.nanoTime();
+        if (this.lastGyroPollNanos != 0) {
+            float seconds = Math.min((now - this.lastGyroPollNanos) / 1e9f, MAX_GYRO_SAMPLE_SECONDS);
+            accumulateGyro(sensors.gyro, sensors.hasAccel ? sensors.accel : null, seconds);
+        }
+        this.lastGyroPollNanos = now;
+    }
+
+    private void accumulateGyro(float[] gyro, float @Nullable [] accel, float seconds) {
+        if (accel != null) {
+            gyroComponent.accumulateRotation(gyro[0], gyro[1], gyro[2], accel[0], accel[1], accel[2], seconds);
+        } else {
+            gyroComponent.accumulateRotation(gyro[0], gyro[1], gyro[2], seconds);
+        }
+    }
+
+    // fingers are only read once per tick, so a touch shorter than a tick can go unseen
     private void updateTouchpad() {
-        if (numTouchpads == 0) return;
+        if (touchpadComponent == null) return;
 
-        List<TouchpadState.Finger> fingers = new ArrayList<>();
+        TouchpadState fingers = touchpadComponent.beginPush();
 
+        TouchpadBuffer buffer = this.touchpadBuffer;
         for (int finger = 0; finger < maxTouchpadFingers; finger++) {
-            var fingerState = new ByteByReference();
-            var x = new FloatByReference();
-            var y = new FloatByReference();
-            var pressure = new FloatByReference();
-
-            if (SDL_GetGamepadTouchpadFinger(ptrGamepad, 0, finger, fingerState, x, y, pressure) != 0) {
+            if (SDL_GetGamepadTouchpadFinger(ptrGamepad, 0, finger, buffer.fingerState, buffer.x, buffer.y, buffer.pressure) != 0) {
                 CUtil.LOGGER.error("Failed to fetch touchpad finger: {}", SDL_GetError());
-            } else if (fingerState.getValue() == 0x1) {
-                fingers.add(new TouchpadState.Finger(new Vector2f(x.getValue(), y.getValue()), pressure.getValue()));
+            } else if (buffer.fingerState.getValue() == 0x1) {
+                fingers.addFinger(finger, buffer.x.getValue(), buffer.y.getValue(), buffer.pressure.getValue());
             }
         }
-
-        this.controller.touchpad().orElseThrow().pushFingers(fingers);
     }
 
     private void updateBatteryLevel() {
@@ -371,84 +515,26 @@ public class SDL3GamepadDriver implements Driver {
         });
     }
 
-    private void updateHDHaptic() {
-        for (int i = 0; i < dualsenseAudioHandles.size(); i++) {
-            AudioStreamHandle handle = dualsenseAudioHandles.get(i);
-            if (handle.isTimedOut()) {
-                handle.close();
-                dualsenseAudioHandles.remove(handle);
-            } else {
-                handle.tick();
-            }
-        }
+    /**
+     * Picks the format haptics are converted to for the device. It matches the device's rate and
+     * channels so SDL never resamples, and its sample format where possible.
+     */
+    private static HapticBufferLibrary.HapticFormat hapticFormatFor(SDL_AudioSpec devSpec) {
+        int nativeS16 = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? SDL_AUDIO_S16LE : SDL_AUDIO_S16BE;
+        boolean floatSamples = devSpec.format.intValue() != nativeS16;
+        return new HapticBufferLibrary.HapticFormat(devSpec.freq, devSpec.channels, floatSamples);
     }
 
-    private void playHaptic(HapticBufferLibrary.HapticBuffer sound) {
-        if (ptrGamepad == null || dualsenseAudioDev == null || dualsenseAudioSpec == null) {
-            return;
-        }
+    private static SDL_AudioSpec audioSpecFor(HapticBufferLibrary.HapticFormat format) {
+        boolean little = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
 
         SDL_AudioSpec spec = new SDL_AudioSpec();
-        spec.channels = sound.format().getChannels();
-        spec.freq = (int) sound.format().getSampleRate();
-
-        int ss = sound.format().getSampleSizeInBits();
-        int byteSs = ss / 8;
-        AudioFormat.Encoding encoding = sound.format().getEncoding();
-        if (ss == 8) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(SDL_AUDIO_S8);
-            } else if (encoding == AudioFormat.Encoding.PCM_UNSIGNED) {
-                spec.format = new SDL_AudioFormat(SDL_AUDIO_U8);
-            }
-        } else if (sound.format().isBigEndian()) {
-            audioFmtEndian(spec, ss, encoding, SDL_AUDIO_S16BE, SDL_AUDIO_S32BE, SDL_AUDIO_F32BE);
-        } else {
-            audioFmtEndian(spec, ss, encoding, SDL_AUDIO_S16LE, SDL_AUDIO_S32LE, SDL_AUDIO_F32LE);
-        }
-
-        if (spec.format == null) {
-            throw new IllegalStateException("Unsupported format");
-        }
-
-        AudioStreamHandle handle = null;
-        for (AudioStreamHandle stream : dualsenseAudioHandles) {
-            SDL_AudioSpec streamSpec = stream.getSpec();
-            if (streamSpec.format.intValue() == spec.format.intValue()
-                    && streamSpec.freq == spec.freq
-                    && streamSpec.channels == spec.channels
-                    && !stream.isInUse()
-            ) {
-                handle = stream;
-                break;
-            }
-        }
-        int length = sound.audio().length / spec.freq / spec.channels / byteSs * 20;
-
-        if (handle != null) {
-            handle.queueAudio(sound.audio(), length);
-        } else {
-            if (dualsenseAudioHandles.size() >= 16) {
-                dualsenseAudioHandles.remove(0).close();
-            }
-
-            AudioStreamHandle newHandle = AudioStreamHandle.createWithAudio(dualsenseAudioDev, spec, dualsenseAudioSpec, sound.audio(), length);
-            dualsenseAudioHandles.add(newHandle);
-        }
-    }
-
-    private static void audioFmtEndian(SDL_AudioSpec spec, int ss, AudioFormat.Encoding encoding, int signed16, int signed32, int float32) {
-        if (ss == 16) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(signed16);
-            }
-        } else if (ss == 32) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(signed32);
-            } else if (encoding == AudioFormat.Encoding.PCM_FLOAT) {
-                spec.format = new SDL_AudioFormat(float32);
-            }
-        }
+        spec.freq = format.sampleRate();
+        spec.channels = format.channels();
+        spec.format = new SDL_AudioFormat(format.floatSamples()
+                ? (little ? SDL_AUDIO_F32LE : SDL_AUDIO_F32BE)
+                : (little ? SDL_AUDIO_S16LE : SDL_AUDIO_S16BE));
+        return spec;
     }
 
     private static float positiveAxis(float value) {
@@ -465,61 +551,69 @@ public class SDL3GamepadDriver implements Driver {
                 + Mth.clampedMap(value, 0, Short.MAX_VALUE, 0f, 1f);
     }
 
-    private static class AudioStreamHandle {
-        private int streamLastPlayed;
-        private final SDL_AudioStream stream;
-        private final SDL_AudioSpec spec;
-
-        private AudioStreamHandle(SDL_AudioStream stream, SDL_AudioSpec spec) {
-            this.stream = stream;
-            this.spec = spec;
-            this.streamLastPlayed = 0;
-        }
-
-        public void queueAudio(byte[] audio, int tickLength) {
-            try (Memory memory = new Memory(audio.length)) {
-                memory.write(0, audio, 0, audio.length);
-                SDL_PutAudioStreamData(stream, memory, audio.length);
-
-                streamLastPlayed = Math.min(0, streamLastPlayed);
-                streamLastPlayed -= tickLength;
+    /**
+     * Reusable native buffers for reading the motion sensors.
+     */
+    private static class SensorBuffer {
+        private final Memory memory = new Memory(3 * Float.BYTES);
+        private final float[] gyro = new float[3];
+        private final float[] accel = new float[3];
+        private boolean hasAccel;
+
+        public boolean read(SDL_Gamepad gamepad, boolean withAccel) {
+            if (SDL_GetGamepadSensorData(gamepad, SDL_SENSOR_GYRO, memory, gyro.length) != 0) {
+                CUtil.LOGGER.error("Could not get gyro data: {}", SDL_GetError());
+                return false;
             }
-        }
+            memory.read(0, gyro, 0, gyro.length);
 
-        public SDL_AudioSpec getSpec() {
-            return this.spec;
+            hasAccel = withAccel && SDL_GetGamepadSensorData(gamepad, SDL_SENSOR_ACCEL, memory, accel.length) == 0;
+            if (hasAccel) {
+                memory.read(0, accel, 0, accel.length);
+            }
+            return true;
         }
 
-        public boolean isInUse() {
-            return streamLastPlayed < 0;
+        public void close() {
+            memory.close();
         }
+    }
 
-        public boolean isTimedOut() {
-            return streamLastPlayed >= AUDIO_STREAM_TIMEOUT_TICKS;
-        }
+    /**
+     * Out-parameters for reading touchpad fingers, reused for every finger of every tick.
+     */
+    private static class TouchpadBuffer {
+        private final ByteByReference fingerState = new ByteByReference();
+        private final FloatByReference x = new FloatByReference();
+        private final FloatByReference y = new FloatByReference();
+        private final FloatByReference pressure = new FloatByReference();
+    }
 
-        public void tick() {
-            streamLastPlayed++;
-        }
+    /**
+     * Writes mixed haptic blocks to the controller's persistent haptic stream.
+     */
+    private static class HapticStreamOutput implements HapticMixer.Output {
+        private final SDL_AudioStream stream;
+        private ByteBuffer block;
+        private Pointer blockPointer;
 
-        public void close() {
-            SDL_DestroyAudioStream(stream);
+        private HapticStreamOutput(SDL_AudioStream stream) {
+            this.stream = stream;
         }
 
-        public static AudioStreamHandle createWithAudio(SDL_AudioDeviceID device, SDL_AudioSpec audioSpec, SDL_AudioSpec devSpec, byte[] audio, int tickLength) {
-            SDL_AudioStream stream = SDL_CreateAudioStream(audioSpec, devSpec);
-            SDL_BindAudioStream(device, stream);
-
-            var handle = new AudioStreamHandle(stream, audioSpec);
-            handle.queueAudio(audio, tickLength);
-            return handle;
+        @Override
+        public int queuedBytes() {
+            return SDL_GetAudioStreamQueued(stream);
         }
 
-        public static AudioStreamHandle createWithInitialTimeout(SDL_AudioDeviceID device, SDL_AudioSpec srcSpec, SDL_AudioSpec devSpec) {
-            SDL_AudioStream stream = SDL_CreateAudioStream(srcSpec, devSpec);
-            SDL_BindAudioStream(device, stream);
-
-            return new AudioStreamHandle(stream, srcSpec);
+        @Override
+        public void write(ByteBuffer block, int size) {
+            // the mixer reuses one block, so its address only needs looking up once
+            if (block != this.block) {
+                this.block = block;
+                this.blockPointer = Native.getDirectBufferPointer(block);
+            }
+            SDL_PutAudioStreamData(stream, blockPointer, size);
         }
     }
 }
@@ -8,21 +8,22 @@ import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.impl.DenseControllerState;
+import dev.isxander.controlify.controller.input.ControllerStateExchanger;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.debug.DebugProperties;
-import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PolledDriver;
 import dev.isxander.controlify.hid.HIDDevice;
 import dev.isxander.controlify.hid.HIDIdentifier;
-import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.sdl3java.api.joystick.SDL_Joystick;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.api.properties.SDL_PropertiesID;
 import net.minecraft.util.Mth;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 import java.util.Set;
@@ -36,11 +37,14 @@ import static dev.isxander.sdl3java.api.joystick.SdlJoystickPropsConst.*;
 import static dev.isxander.sdl3java.api.power.SDL_PowerState.*;
 import static dev.isxander.sdl3java.api.properties.SdlProperties.*;
 
-public class SDL3JoystickDriver implements Driver {
+public class SDL3JoystickDriver implements PolledDriver {
     private final SDL_Joystick ptrJoystick;
+    private final DenseControllerState inputState = new DenseControllerState();
+    private final ControllerStateExchanger polledInput = new ControllerStateExchanger();
     private final ControllerEntity controller;
 
     private final boolean isRumbleSupported, isTriggerRumbleSupported;
+    private final @Nullable RumbleComponent rumbleComponent;
     private final String guid;
     private final String serial;
     private final String name;
@@ -84,10 +88,16 @@ public class SDL3JoystickDriver implements Driver {
         this.numButtons = SDL_GetNumJoystickButtons(ptrJoystick);
         this.numHats = SDL_GetNumJoystickHats(ptrJoystick);
 
-        this.controller.setComponent(new InputComponent(this.controller, numButtons, numAxes * 2, numHats, false, Set.of(), type.mappingId()), InputComponent.ID);
+        InputComponent inputComponent = new InputComponent(this.controller, numButtons, numAxes * 2, numHats, false, Set.of(), type.mappingId());
+        inputComponent.attachPolledInput(this.polledInput);
+        this.controller.setComponent(inputComponent, InputComponent.ID);
         this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.ID);
         if (this.isRumbleSupported) {
-            this.controller.setComponent(new RumbleComponent(), RumbleComponent.ID);
+            this.rumbleComponent = new RumbleComponent();
+            this.rumbleComponent.attachOutput(this::rumble);
+            this.controller.setComponent(this.rumbleComponent, RumbleComponent.ID);
+        } else {
+            this.rumbleComponent = null;
         }
         if (this.isTriggerRumbleSupported) {
             this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.ID);
@@ -108,13 +118,40 @@ public class SDL3JoystickDriver implements Driver {
         this.updateBatteryLevel();
     }
 
+    @Override
+    public void pollInput() {
+        this.readInput(this.polledInput.beginWrite());
+        this.polledInput.publish();
+    }
+
+    @Override
+    public void stopBackgroundPolling() {
+        this.polledInput.deactivate();
+    }
+
     @Override
     public void close() {
+        // waits for the rumble mixer to stop using the joystick
+        if (rumbleComponent != null) {
+            rumbleComponent.detachOutput();
+        }
+
         SDL_CloseJoystick(ptrJoystick);
     }
 
     private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
+        DenseControllerState state;
+        if (this.polledInput.isActive()) {
+            state = this.polledInput.acquire();
+        } else {
+            state = this.inputState;
+            this.readInput(state);
+        }
+
+        this.controller.input().orElseThrow().pushState(state);
+    }
+
+    private void readInput(DenseControllerState state) {
 
         for (int i = 0; i < numAxes; i++) {
             float axis = mapShortToFloat(SDL_GetJoystickAxis(ptrJoystick, i));
@@ -143,22 +180,12 @@ public class SDL3JoystickDriver implements Driver {
 
             state.setHat(JoystickInputs.hat(i), hatState);
         }
-
-        this.controller.input().orElseThrow().pushState(state);
     }
 
     private void updateRumble() {
-        if (isRumbleSupported) {
-            Optional<RumbleState> stateOpt = this.controller
-                    .rumble()
-                    .orElseThrow()
-                    .consumeRumble();
-
-            stateOpt.ifPresent(state -> {
-                if (SDL_RumbleJoystick(ptrJoystick, (short) (state.strong() * 0xFFFF), (short) (state.weak() * 0xFFFF), 0) != 0) {
-                    CUtil.LOGGER.error("Could not rumble joystick: {}", SDL_GetError());
-                }
-            });
+        // only used if the rumble mixer isn't driving the motors directly
+        if (rumbleComponent != null) {
+            rumbleComponent.consumeRumble().ifPresent(state -> this.rumble(state.strong(), state.weak()));
         }
 
         if (isTriggerRumbleSupported) {
@@ -175,6 +202,12 @@ public class SDL3JoystickDriver implements Driver {
         }
     }
 
+    private void rumble(float strong, float weak) {
+        if (SDL_RumbleJoystick(ptrJoystick, (short) Math.round(strong * 0xFFFF), (short) Math.round(weak * 0xFFFF), 0) != 0) {
+            CUtil.LOGGER.error("Could not rumble joystick: {}", SDL_GetError());
+        }
+    }
+
     private void updateBatteryLevel() {
         IntByReference percent = new IntByReference();
         int powerState = SDL_GetJoystickPowerInfo(ptrJoystick, percent);
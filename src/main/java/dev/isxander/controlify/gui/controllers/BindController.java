@@ -7,6 +7,7 @@ import dev.isxander.controlify.controller.*;
 import dev.isxander.controlify.controller.input.ControllerStateView;
 import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.touchpad.TouchpadGestures;
 import dev.isxander.controlify.gui.screen.BindConsumerScreen;
 import dev.isxander.controlify.screenop.ComponentProcessor;
 import dev.isxander.controlify.screenop.ScreenProcessor;
@@ -151,7 +152,7 @@ public class BindController implements Controller<Input> {
 
             for (ResourceLocation axis : state.getAxes()) {
                 if (state.getAxisState(axis) > 0.5f && prevState.getAxisState(axis) <= 0.5f) {
-                    return Optional.of(new AxisInput(axis));
+                    return Optional.of(TouchpadGestures.isGesture(axis) ? new GestureInput(axis) : new AxisInput(axis));
                 }
             }
 
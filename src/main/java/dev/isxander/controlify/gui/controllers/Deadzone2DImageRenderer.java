@@ -3,6 +3,7 @@ package dev.isxander.controlify.gui.controllers;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
 import dev.isxander.controlify.controller.input.DeadzoneGroup;
+import dev.isxander.controlify.controller.input.DeadzoneMode;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.render.ControlifyVertexConsumer;
@@ -24,11 +25,13 @@ public class Deadzone2DImageRenderer implements ImageRenderer {
     private final InputComponent input;
     private final DeadzoneGroup deadzoneGroup;
     private final Supplier<Option<Float>> deadzoneOption;
+    private final Supplier<Option<DeadzoneMode>> modeOption;
 
-    public Deadzone2DImageRenderer(InputComponent input, DeadzoneGroup deadzoneGroup, Supplier<Option<Float>> deadzoneOption) {
+    public Deadzone2DImageRenderer(InputComponent input, DeadzoneGroup deadzoneGroup, Supplier<Option<Float>> deadzoneOption, Supplier<Option<DeadzoneMode>> modeOption) {
         this.input = input;
         this.deadzoneGroup = deadzoneGroup;
         this.deadzoneOption = deadzoneOption;
+        this.modeOption = modeOption;
     }
 
     @Override
@@ -54,7 +57,9 @@ public class Deadzone2DImageRenderer implements ImageRenderer {
 
         // deadzone outline
         float deadzone = deadzoneOption.get().pendingValue();
-        boolean aboveDeadzone = Math.abs(currentX) > deadzone || Math.abs(currentY) > deadzone;
+        boolean aboveDeadzone = modeOption.get().pendingValue() == DeadzoneMode.AXIAL
+                ? Math.abs(currentX) > deadzone || Math.abs(currentY) > deadzone
+                : currentX * currentX + currentY * currentY > deadzone * deadzone;
         drawCircleOutline(graphics.pose(), x + radius, y + radius, 0, deadzone * radius, 1f, aboveDeadzone ? 0xFF00FFFF : 0xFFFF0000, 360);
 
         // current axis point
@@ -195,7 +195,7 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
 
     private void processGyroData() {
         controller.gyro().ifPresent(gyro -> {
-            accumulatedGyroVelocity.add(gyro.getState());
+            accumulatedGyroVelocity.add(gyro.getRawState());
         });
     }
 
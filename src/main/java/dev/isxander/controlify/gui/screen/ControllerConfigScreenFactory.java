@@ -9,8 +9,10 @@ import dev.isxander.controlify.bindings.input.EmptyInput;
 import dev.isxander.controlify.bindings.input.Input;
 import dev.isxander.controlify.controller.*;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
+import dev.isxander.controlify.controller.gyro.GyroSpace;
 import dev.isxander.controlify.controller.gyro.GyroYawMode;
 import dev.isxander.controlify.controller.input.DeadzoneGroup;
+import dev.isxander.controlify.controller.input.DeadzoneMode;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.input.Inputs;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
@@ -253,6 +255,8 @@ public class ControllerConfigScreenFactory {
         InputComponent.Config def = input.defObj();
 
         var deadzoneOpts = new ArrayList<Option<Float>>();
+        // the previews follow the mode before it's saved, but it's only built after them
+        AtomicReference<Option<DeadzoneMode>> modeRef = new AtomicReference<>();
 
         var group = OptionGroup.createBuilder()
                 .name(Component.translatable("controlify.config.group.deadzones"));
@@ -268,7 +272,7 @@ public class ControllerConfigScreenFactory {
                     .name(name)
                     .description(OptionDescription.createBuilder()
                             .text(Component.translatable("controlify.gui.axis_deadzone.tooltip", name))
-                            .customImage(CompletableFuture.completedFuture(deadzoneGroup.axes().size() == 4 ? Optional.of(new Deadzone2DImageRenderer(input, deadzoneGroup, deadzoneRef::get)) : Optional.empty()))
+                            .customImage(CompletableFuture.completedFuture(deadzoneGroup.axes().size() == 4 ? Optional.of(new Deadzone2DImageRenderer(input, deadzoneGroup, deadzoneRef::get, modeRef::get)) : Optional.empty()))
                             .build())
                     .binding(
                             def.deadzones.getOrDefault(groupName, 0f),
@@ -284,6 +288,18 @@ public class ControllerConfigScreenFactory {
             deadzoneOpts.add(deadzoneOpt);
         }
 
+        Option<DeadzoneMode> modeOpt = Option.<DeadzoneMode>createBuilder()
+                .name(Component.translatable("controlify.gui.deadzone_mode"))
+                .description(val -> OptionDescription.createBuilder()
+                        .text(Component.translatable("controlify.gui.deadzone_mode.tooltip"))
+                        .text(Component.translatable("controlify.gui.deadzone_mode.tooltip." + val.name().toLowerCase()))
+                        .build())
+                .binding(def.deadzoneMode, () -> config.deadzoneMode, v -> config.deadzoneMode = v)
+                .controller(opt -> EnumControllerBuilder.create(opt).enumClass(DeadzoneMode.class))
+                .build();
+        modeRef.set(modeOpt);
+        group.option(modeOpt);
+
         group.option(Option.<Float>createBuilder()
                 .name(Component.translatable("controlify.gui.button_activation_threshold"))
                 .description(OptionDescription.createBuilder()
@@ -372,7 +388,7 @@ public class ControllerConfigScreenFactory {
         RumbleComponent.Config config = rumble.confObj();
         RumbleComponent.Config def = rumble.defObj();
 
-        List<Option<Float>> strengthOptions = new ArrayList<>();
+        List<Option<?>> strengthOptions = new ArrayList<>();
         Option<Boolean> allowVibrationOption;
         vibrationGroup.option(allowVibrationOption = Option.<Boolean>createBuilder()
                 .name(Component.translatable("controlify.gui.allow_vibrations"))
@@ -384,6 +400,21 @@ public class ControllerConfigScreenFactory {
                 .controller(TickBoxControllerBuilder::create)
                 .build());
 
+        Option<Integer> minIntervalOption = Option.<Integer>createBuilder()
+                .name(Component.translatable("controlify.gui.vibration_min_interval"))
+                .description(OptionDescription.createBuilder()
+                        .text(Component.translatable("controlify.gui.vibration_min_interval.tooltip"))
+                        .build())
+                .binding(def.minOutputIntervalMs, () -> config.minOutputIntervalMs, v -> config.minOutputIntervalMs = v)
+                .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                        .range(0, 100)
+                        .step(4)
+                        .formatValue(v -> Component.literal(v + " ms")))
+                .available(allowVibrationOption.pendingValue())
+                .build();
+        strengthOptions.add(minIntervalOption);
+        vibrationGroup.option(minIntervalOption);
+
         controller.hdHaptics().ifPresent(haptics -> {
             vibrationGroup.option(Option.<Boolean>createBuilder()
                     .name(Component.translatable("controlify.gui.hd_haptics"))
@@ -393,6 +424,14 @@ public class ControllerConfigScreenFactory {
                     .binding(haptics.defObj().enabled, () -> haptics.confObj().enabled, v -> haptics.confObj().enabled = v)
                     .controller(TickBoxControllerBuilder::create)
                     .build());
+            vibrationGroup.option(Option.<Boolean>createBuilder()
+                    .name(Component.translatable("controlify.gui.hd_haptics_rumble"))
+                    .description(OptionDescription.createBuilder()
+                            .text(Component.translatable("controlify.gui.hd_haptics_rumble.tooltip"))
+                            .build())
+                    .binding(haptics.defObj().synthesiseRumble, () -> haptics.confObj().synthesiseRumble, v -> haptics.confObj().synthesiseRumble = v)
+                    .controller(TickBoxControllerBuilder::create)
+                    .build());
         });
 
         for (RumbleSource source : RumbleSource.values()) {
@@ -436,6 +475,10 @@ public class ControllerConfigScreenFactory {
         return Optional.of(vibrationGroup.build());
     }
 
+    private static boolean isGyroSpaceAvailable(GyroComponent gyro, Option<Float> sensitivity, Option<Boolean> relativeMode) {
+        return gyro.hasAccelerometer() && sensitivity.pendingValue() > 0 && !relativeMode.pendingValue();
+    }
+
     private Optional<OptionGroup> makeGyroGroup(ControllerEntity controller) {
         var gyroGroup = OptionGroup.createBuilder()
                 .name(Component.translatable("controlify.gui.group.gyro"))
@@ -481,6 +524,24 @@ public class ControllerConfigScreenFactory {
                         .formatValue(v -> v ? Component.translatable("controlify.gui.gyro_behaviour.relative") : Component.translatable("controlify.gui.gyro_behaviour.absolute")))
                 .build();
         gyroGroup.option(relativeModeOpt);
+        gyroGroup.option(Util.make(() -> {
+            var option = Option.<GyroSpace>createBuilder()
+                    .name(Component.translatable("controlify.gui.gyro_space"))
+                    .description(val -> OptionDescription.createBuilder()
+                            .text(Component.translatable("controlify.gui.gyro_space.tooltip"))
+                            .text(Component.translatable("controlify.gui.gyro_space.tooltip." + val.name().toLowerCase()))
+                            .build())
+                    .binding(def.space, () -> config.space, v -> config.space = v)
+                    .controller(opt -> EnumControllerBuilder.create(opt).enumClass(GyroSpace.class))
+                    .available(isGyroSpaceAvailable(gyroOpt.get(), gyroSensitivity, relativeModeOpt))
+                    .build();
+            // relative mode always looks in local space, so this depends on more than sensitivity
+            gyroSensitivity.addListener((opt, sensitivity) ->
+                    option.setAvailable(isGyroSpaceAvailable(gyroOpt.get(), gyroSensitivity, relativeModeOpt)));
+            relativeModeOpt.addListener((opt, relative) ->
+                    option.setAvailable(isGyroSpaceAvailable(gyroOpt.get(), gyroSensitivity, relativeModeOpt)));
+            return option;
+        }));
         gyroGroup.option(Util.make(() -> {
             var option = Option.<GyroYawMode>createBuilder()
                     .name(Component.translatable("controlify.gui.gyro_yaw_mode"))
@@ -516,6 +577,16 @@ public class ControllerConfigScreenFactory {
             gyroOptions.add(opt);
             return opt;
         }));
+        gyroGroup.option(Util.make(() -> {
+            var opt = Option.<Boolean>createBuilder()
+                    .name(Component.translatable("controlify.gui.gyro_continuous_calibration"))
+                    .description(OptionDescription.of(Component.translatable("controlify.gui.gyro_continuous_calibration.tooltip")))
+                    .binding(def.continuousCalibration, () -> config.continuousCalibration, v -> config.continuousCalibration = v)
+                    .controller(TickBoxControllerBuilder::create)
+                    .build();
+            gyroOptions.add(opt);
+            return opt;
+        }));
         gyroGroup.option(Util.make(() -> {
             var opt = Option.<Boolean>createBuilder()
                     .name(Component.translatable("controlify.gui.gyro_requires_button"))
@@ -4,6 +4,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controllermanager.InputPollingThread;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.gui.controllers.FormattableStringController;
 import dev.isxander.controlify.reacharound.ReachAroundMode;
@@ -161,6 +162,27 @@ public class GlobalSettingsScreenFactory {
                                         .binding(GlobalSettings.DEFAULT.outOfFocusInput, () -> globalSettings.outOfFocusInput, v -> globalSettings.outOfFocusInput = v)
                                         .controller(TickBoxControllerBuilder::create)
                                         .build())
+                                .option(Option.<Boolean>createBuilder()
+                                        .name(Component.translatable("controlify.gui.background_input_polling"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.background_input_polling.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.backgroundInputPolling, () -> globalSettings.backgroundInputPolling, v -> globalSettings.backgroundInputPolling = v)
+                                        .controller(TickBoxControllerBuilder::create)
+                                        .available(SDL3NativesManager.isLoaded())
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.input_polling_rate"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.input_polling_rate.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.inputPollingRate, () -> globalSettings.inputPollingRate, v -> globalSettings.inputPollingRate = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(InputPollingThread.MIN_RATE, InputPollingThread.MAX_RATE)
+                                                .step(50)
+                                                .formatValue(v -> Component.literal(v + " Hz")))
+                                        .available(SDL3NativesManager.isLoaded())
+                                        .build())
                                 .option(Option.<Boolean>createBuilder()
                                         .name(Component.translatable("controlify.gui.notify_low_battery"))
                                         .description(OptionDescription.createBuilder()
@@ -1,28 +1,42 @@
 package dev.isxander.controlify.hid;
 
 import com.google.common.primitives.Ints;
-import com.mojang.datafixers.util.Pair;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.id.ControllerType;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.debug.DebugProperties;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.ToastUtils;
+import net.minecraft.Util;
 import net.minecraft.network.chat.Component;
 import org.hid4java.*;
+import org.jetbrains.annotations.Nullable;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.concurrent.ArrayBlockingQueue;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Finds the HID device behind each connected controller.
+ * <p>
+ * Devices are only enumerated when asked to, by {@link #scan()} or {@link #scanInBackground()},
+ * which index the attached devices by path. Controllers that haven't been claimed yet are queued
+ * in the order they were attached, so {@link #fetchType(int)} only has to take the first one.
+ */
 public class ControllerHIDService {
     private final HidServicesSpecification specification;
     private HidServices services;
 
-    private final Queue<Pair<HidDevice, HIDIdentifier>> unconsumedControllerHIDs;
+    // guarded by indexLock
     private final Map<String, HidDevice> attachedDevices = new HashMap<>();
-    private boolean disabled = false;
+    private final Set<String> controllerPaths = new HashSet<>();
+    private final LinkedHashMap<String, HidDevice> unconsumedControllers = new LinkedHashMap<>();
+    private final Object indexLock = new Object();
+    // only one enumeration at a time
+    private final Object scanLock = new Object();
+
+    private volatile boolean disabled = false;
     private boolean firstFetch = true;
     // https://learn.microsoft.com/en-us/windows-hardware/drivers/hid/hid-usages#usage-page
     private static final Set<Integer> CONTROLLER_USAGE_IDS = Set.of(
@@ -35,7 +49,6 @@ public class ControllerHIDService {
         this.specification = new HidServicesSpecification();
         specification.setAutoStart(false);
         specification.setScanMode(ScanMode.NO_SCAN);
-        this.unconsumedControllerHIDs = new ArrayBlockingQueue<>(50);
     }
 
     public void start() {
@@ -56,8 +69,12 @@ public class ControllerHIDService {
 
     public void stop() {
         if (!disabled && services != null) {
-            services.shutdown();
             disabled = true;
+
+            // waits for any scan in progress, the services must not be enumerated once shut down
+            synchronized (scanLock) {
+                services.shutdown();
+            }
         }
     }
 
@@ -98,68 +115,88 @@ public class ControllerHIDService {
             return new ControllerHIDInfo(ControllerType.DEFAULT, Optional.empty());
         }
 
-        doScanOnThisThread();
-
-        Pair<HidDevice, HIDIdentifier> hid = unconsumedControllerHIDs.poll();
+        HidDevice hid = consumeController();
         if (hid == null) {
             CUtil.LOGGER.warn("No controller found via USB hardware scan! Using SDL if available.");
 
             return new ControllerHIDInfo(ControllerType.DEFAULT, Optional.empty());
         }
 
-        ControllerType type = Controlify.instance().controllerTypeManager().getControllerType(hid.getSecond());
+        HIDIdentifier identifier = new HIDIdentifier(hid.getVendorId(), hid.getProductId());
+        ControllerType type = Controlify.instance().controllerTypeManager().getControllerType(identifier);
 
-        unconsumedControllerHIDs.removeIf(h -> hid.getFirst().getPath().equals(h.getFirst().getPath()));
-
-        return new ControllerHIDInfo(type, Optional.of(new HIDDevice.Hid4Java(hid.getFirst())));
+        return new ControllerHIDInfo(type, Optional.of(new HIDDevice.Hid4Java(hid)));
     }
 
     public boolean isDisabled() {
         return disabled;
     }
 
-    private void doScanOnThisThread() {
-        List<String> removeList = new ArrayList<String>();
-
-        List<HidDevice> attachedHidDeviceList = services.getAttachedHidDevices();
-
-        for (HidDevice attachedDevice : attachedHidDeviceList) {
-
-            if (!this.attachedDevices.containsKey(attachedDevice.getId())) {
-
-                // Device has become attached so add it but do not open
-                attachedDevices.put(attachedDevice.getId(), attachedDevice);
+    private @Nullable HidDevice consumeController() {
+        synchronized (indexLock) {
+            Iterator<HidDevice> iterator = unconsumedControllers.values().iterator();
+            if (!iterator.hasNext())
+                return null;
 
-                // add an unconsumed identifier that can be removed if not disconnected
-                HIDIdentifier identifier = new HIDIdentifier(attachedDevice.getVendorId(), attachedDevice.getProductId());
-                if (isController(attachedDevice))
-                    unconsumedControllerHIDs.add(new Pair<>(attachedDevice, identifier));
-            }
+            HidDevice device = iterator.next();
+            iterator.remove();
+            return device;
         }
+    }
 
-        for (Map.Entry<String, HidDevice> entry : attachedDevices.entrySet()) {
-
-            String deviceId = entry.getKey();
-            HidDevice hidDevice = entry.getValue();
-
-            if (!attachedHidDeviceList.contains(hidDevice)) {
+    /**
+     * Enumerates the attached devices on a background thread, so a controller that was just
+     * connected can be fetched once this completes.
+     */
+    public CompletableFuture<Void> scanInBackground() {
+        return CompletableFuture.runAsync(this::scan, Util.backgroundExecutor());
+    }
 
-                // Keep track of removals
-                removeList.add(deviceId);
+    /**
+     * Enumerates the attached devices on this thread.
+     */
+    public void scan() {
+        synchronized (scanLock) {
+            if (disabled)
+                return;
+
+            List<HidDevice> attachedHidDeviceList = services.getAttachedHidDevices();
+            Set<String> attachedPaths = new HashSet<>(attachedHidDeviceList.size());
+
+            synchronized (indexLock) {
+                for (HidDevice attachedDevice : attachedHidDeviceList) {
+                    String path = attachedDevice.getPath();
+                    attachedPaths.add(path);
+                    attachedDevices.putIfAbsent(path, attachedDevice);
+
+                    // checked every scan rather than once, controller types may not have loaded yet
+                    if (!controllerPaths.contains(path) && isController(attachedDevice)) {
+                        controllerPaths.add(path);
+                        unconsumedControllers.put(path, attachedDevice);
+                    }
+                }
 
-                // remove device from unconsumed list
-                unconsumedControllerHIDs.removeIf(device -> this.attachedDevices.get(deviceId).getPath().equals(device.getFirst().getPath()));
+                Iterator<String> iterator = attachedDevices.keySet().iterator();
+                while (iterator.hasNext()) {
+                    String path = iterator.next();
+                    if (!attachedPaths.contains(path)) {
+                        iterator.remove();
+                        controllerPaths.remove(path);
+                        unconsumedControllers.remove(path);
+                    }
+                }
             }
         }
-
-        if (!removeList.isEmpty()) {
-            // Update the attached devices map
-            removeList.forEach(this.attachedDevices.keySet()::remove);
-        }
     }
 
     public void unconsumeController(ControllerHIDInfo hid) {
-        hid.hidDevice.ifPresent(device -> attachedDevices.remove(device.path()));
+        hid.hidDevice.ifPresent(device -> {
+            synchronized (indexLock) {
+                // the next scan queues it again if it's still attached
+                controllerPaths.remove(device.path());
+                unconsumedControllers.remove(device.path());
+            }
+        });
     }
 
     private boolean isController(HidDevice device) {
@@ -7,6 +7,8 @@ import dev.isxander.controlify.bindings.ControlifyBindings;
 import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
+import dev.isxander.controlify.controller.gyro.GyroSpace;
+import dev.isxander.controlify.controller.gyro.GyroYawMode;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.gui.screen.RadialItems;
 import dev.isxander.controlify.gui.screen.RadialMenuScreen;
@@ -16,6 +18,7 @@ import dev.isxander.controlify.utils.DebugOverlayHelper;
 import dev.isxander.controlify.utils.HoldRepeatHelper;
 import dev.isxander.controlify.utils.animation.api.Animation;
 import dev.isxander.controlify.utils.animation.api.EasingFunction;
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
 import net.minecraft.client.CameraType;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.Screenshot;
@@ -29,16 +32,32 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Vector2f;
 import org.joml.Vector2fc;
 
+import java.util.Optional;
+
 public class InGameInputHandler {
+    private static final FloatUnaryOperator LOOK_EASING = x -> x * Math.abs(x);
+
     private final ControllerEntity controller;
     private final Controlify controlify;
     private final Minecraft minecraft;
 
-    private double lookInputX, lookInputY; // in degrees per tick
+    private final Vector2f gyroLook = new Vector2f(); // in degrees per tick
+    private final Vector2f frameLook = new Vector2f();
+    private final Vector2f tickLook = new Vector2f();
+    private final Vector2f easedLook = new Vector2f();
+    private final LookInputModifier tickLookModifier;
+    private final LookInputModifier frameLookModifier;
+    private boolean tickLookModified;
     private final GyroState gyroInput = new GyroState();
+    private final GyroState gyroRotation = new GyroState();
+    private final GyroState gyroLookInput = new GyroState();
+    private final @Nullable GyroComponent gyro;
+    private boolean aiming;
+    private boolean flickStickActive;
     private boolean wasAiming;
     private Animation flickAnimation;
 
@@ -52,6 +71,10 @@ public class InGameInputHandler {
         this.minecraft = Minecraft.getInstance();
         this.controlify = Controlify.instance();
         this.dropRepeatHelper = new HoldRepeatHelper(20, 1);
+        // components are fixed once the controller is finalised
+        this.gyro = controller.gyro().orElse(null);
+        this.tickLookModifier = new LookInputModifier(new Vector2f(), controller);
+        this.frameLookModifier = new LookInputModifier(new Vector2f(), controller);
     }
 
     public void inputTick() {
@@ -228,52 +251,62 @@ public class InGameInputHandler {
     protected void handlePlayerLookInput() {
         LocalPlayer player = this.minecraft.player;
 
-        boolean mouseNotGrabbed = !minecraft.mouseHandler.isMouseGrabbed();
-        boolean outOfFocus = !minecraft.isWindowActive() && !controlify.config().globalSettings().outOfFocusInput;
-        boolean screenVisible = minecraft.screen != null;
-        boolean playerExists = minecraft.player != null;
-        if (mouseNotGrabbed || outOfFocus || screenVisible || !playerExists) {
-            lookInputX = 0;
-            lookInputY = 0;
+        if (!canLook()) {
+            gyroLook.zero();
+            flickStickActive = false;
+            tickLookModified = false;
+            // discard motion made while looking is not possible, e.g. in a screen
+            if (gyro != null)
+                gyro.consumeRotation(gyroRotation);
             return;
         }
 
-        boolean aiming = isAiming(player);
+        aiming = isAiming(player);
 
-        Vector2f lookImpulse = new Vector2f();
-        controller.gyro().ifPresent(gyro -> handleGyroLook(gyro, lookImpulse, aiming));
+        gyroLook.zero();
+        if (gyro != null)
+            handleGyroLook(gyro, gyroLook, aiming);
 
-        if (controller.gyro().map(gyro -> gyro.confObj().lookSensitivity > 0 && gyro.confObj().flickStick).orElse(false)) {
+        flickStickActive = gyro != null && gyro.confObj().lookSensitivity > 0 && gyro.confObj().flickStick;
+        if (flickStickActive) {
             handleFlickStick(player);
-        } else {
-            controller.input().ifPresent(input -> handleRegularLook(input, lookImpulse, aiming, player));
         }
 
-        var modifier = new LookInputModifier(new Vector2f(lookImpulse), controller);
-        ControlifyEvents.LOOK_INPUT_MODIFIER.invoke(modifier);
-        lookImpulse.set(modifier.lookInput());
-
-        lookInputX = lookImpulse.x;
-        lookInputY = lookImpulse.y;
+        // look modifiers still see this tick's input once per tick, as they always have
+        Vector2f lookImpulse = tickLook.set(gyroLook);
+        if (!flickStickActive) {
+            Optional<InputComponent> input = controller.input();
+            if (input.isPresent()) {
+                handleRegularLook(input.get(), lookImpulse, aiming, player);
+            }
+        }
+        tickLookModifier.lookInput().set(lookImpulse);
+        ControlifyEvents.LOOK_INPUT_MODIFIER.invoke(tickLookModifier);
+        tickLookModified = !tickLookModifier.lookInput().equals(lookImpulse);
+        lookImpulse.set(tickLookModifier.lookInput());
 
         wasAiming = aiming;
     }
 
+    private boolean canLook() {
+        boolean mouseNotGrabbed = !minecraft.mouseHandler.isMouseGrabbed();
+        boolean outOfFocus = !minecraft.isWindowActive() && !controlify.config().globalSettings().outOfFocusInput;
+        boolean screenVisible = minecraft.screen != null;
+        boolean playerExists = minecraft.player != null;
+        return !mouseNotGrabbed && !outOfFocus && !screenVisible && playerExists;
+    }
+
     protected void handleRegularLook(InputComponent input, Vector2f impulse, boolean aiming, LocalPlayer player) {
         InputComponent.Config config = input.confObj();
 
-        // normal look input
-        float impulseY = ControlifyBindings.LOOK_DOWN.on(controller).analogueNow()
-                - ControlifyBindings.LOOK_UP.on(controller).analogueNow();
-        float impulseX = ControlifyBindings.LOOK_RIGHT.on(controller).analogueNow()
-                - ControlifyBindings.LOOK_LEFT.on(controller).analogueNow();
+        // normal look input, sampled from the newest input rather than this tick's
+        float impulseY = ControlifyBindings.LOOK_DOWN.on(controller).analogueLatest()
+                - ControlifyBindings.LOOK_UP.on(controller).analogueLatest();
+        float impulseX = ControlifyBindings.LOOK_RIGHT.on(controller).analogueLatest()
+                - ControlifyBindings.LOOK_LEFT.on(controller).analogueLatest();
 
         // apply the easing on its length to preserve circularity
-        Vector2fc easedImpulse = ControllerUtils.applyEasingToLength(
-                impulseX,
-                impulseY,
-                x -> x * Math.abs(x)
-        );
+        Vector2fc easedImpulse = ControllerUtils.applyEasingToLength(impulseX, impulseY, LOOK_EASING, this.easedLook);
         impulseX = easedImpulse.x();
         impulseY = easedImpulse.y();
 
@@ -297,23 +330,32 @@ public class InGameInputHandler {
     protected void handleGyroLook(GyroComponent gyro, Vector2f impulse, boolean aiming) {
         GyroComponent.Config config = gyro.confObj();
 
+        // always drain the rotation so motion while the gyro is disabled is not applied later
+        gyro.consumeRotation(gyroRotation);
+
+        GyroState thisInput = gyroLookInput;
         if (config.requiresButton && (!ControlifyBindings.GYRO_BUTTON.on(controller).digitalNow() && !aiming)) {
             gyroInput.set(0);
+            thisInput.set(0);
+        } else if (config.relativeGyroMode) {
+            gyroInput.fma(0.1f, gyro.getState());
+
+            // convert radians per second into degrees per tick
+            thisInput.set(gyroInput).mul(Mth.RAD_TO_DEG / 20 * config.lookSensitivity);
         } else {
-            if (config.relativeGyroMode)
-                gyroInput.add(new GyroState(gyro.getState()).mul(0.1f));
-            else
-                gyroInput.set(gyro.getState());
+            gyroInput.set(gyro.getState());
+
+            // the exact angle travelled since last tick, in degrees per tick
+            thisInput.set(gyroRotation).mul(Mth.RAD_TO_DEG * config.lookSensitivity);
         }
 
-        // convert radians per second into degrees per tick
-        GyroState thisInput = new GyroState(gyroInput)
-                .mul(Mth.RAD_TO_DEG)
-                .div(20)
-                .mul(config.lookSensitivity);
+        // player and world space already fold roll into yaw
+        GyroYawMode yawMode = config.relativeGyroMode || gyro.effectiveSpace() == GyroSpace.LOCAL
+                ? config.yawMode
+                : GyroYawMode.YAW;
 
         impulse.y += -thisInput.pitch() * (config.invertY ? -1 : 1);
-        impulse.x += switch (config.yawMode) {
+        impulse.x += switch (yawMode) {
             case YAW -> -thisInput.yaw();
             case ROLL -> -thisInput.roll();
             case BOTH -> -thisInput.yaw() - thisInput.roll();
@@ -346,10 +388,37 @@ public class InGameInputHandler {
                 .play();
     }
 
+    /**
+     * Called every frame. The stick is re-sampled each frame and the resulting angular velocity
+     * is integrated over the frame's exact duration, so the total rotation depends only on the
+     * input over time and not on how frames happen to divide it.
+     * <p>
+     * If a {@link ControlifyEvents#LOOK_INPUT_MODIFIER} listener changed this tick's input, the
+     * modified input is used for every frame of the tick instead.
+     *
+     * @param deltaTime the duration of this frame in ticks
+     */
     public void processPlayerLook(float deltaTime) {
-        if (minecraft.player != null) {
-            minecraft.player.turn(lookInputX / 0.15f * deltaTime, lookInputY / 0.15f * deltaTime);
+        LocalPlayer player = minecraft.player;
+        if (player == null || !canLook())
+            return;
+
+        Vector2f lookImpulse = frameLook.set(gyroLook);
+        if (tickLookModified) {
+            lookImpulse.set(tickLook);
+        } else if (!flickStickActive) {
+            Optional<InputComponent> input = controller.input();
+            if (input.isPresent()) {
+                handleRegularLook(input.get(), lookImpulse, aiming, player);
+            }
         }
+
+        frameLookModifier.lookInput().set(lookImpulse);
+        ControlifyEvents.FRAME_LOOK_INPUT_MODIFIER.invoke(frameLookModifier);
+        lookImpulse.set(frameLookModifier.lookInput());
+
+        // impulse is in degrees per tick, turn() scales by 0.15
+        player.turn(lookImpulse.x / 0.15f * deltaTime, lookImpulse.y / 0.15f * deltaTime);
     }
 
     public boolean shouldShowPlayerList() {
@@ -6,7 +6,6 @@ import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.rumble.ContinuousRumbleEffect;
 import dev.isxander.controlify.rumble.RumbleSource;
-import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.utils.Easings;
 import net.minecraft.client.multiplayer.MultiPlayerGameMode;
 import net.minecraft.core.BlockPos;
@@ -72,11 +71,10 @@ public class MultiPlayerGameModeMixin {
     private void startRumble(BlockState state) {
         stopRumble();
 
+        // only depends on the block, so worked out once rather than every tick
+        float strong = 0.02f + Easings.easeInQuad(Math.min(1, state.getBlock().defaultDestroyTime() / 20f)) * 0.25f;
         var effect = ContinuousRumbleEffect.builder()
-                .byTick(tick -> new RumbleState(
-                        0.02f + Easings.easeInQuad(Math.min(1, state.getBlock().defaultDestroyTime() / 20f)) * 0.25f,
-                        0.01f
-                ))
+                .constant(strong, 0.01f)
                 .minTime(1)
                 .build();
 
@@ -2,8 +2,8 @@ package dev.isxander.controlify.mixins.feature.rumble.damage;
 
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.controller.ControllerEntity;
-import dev.isxander.controlify.rumble.BasicRumbleEffect;
 import dev.isxander.controlify.rumble.RumbleSource;
+import dev.isxander.controlify.rumble.RumbleTemplate;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.world.damagesource.DamageSource;
 import org.spongepowered.asm.mixin.Mixin;
@@ -12,6 +12,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(LocalPlayer.class)
 public abstract class LocalPlayerMixin extends PlayerMixin {
+    @Unique
+    private static final RumbleTemplate DAMAGE = RumbleTemplate.constant(0.8f, 0.5f, 5);
+
     // the goal is only one of these runs.
     // because they're both on the same tick, try and rely on the hurttime being less to
     // indicate which is the first/only to run
@@ -42,7 +45,7 @@ public abstract class LocalPlayerMixin extends PlayerMixin {
                 .flatMap(ControllerEntity::rumble)
                 .ifPresent(rumble -> rumble.rumbleManager().play(
                         RumbleSource.PLAYER,
-                        BasicRumbleEffect.constant(0.8f, 0.5f, 5)
+                        DAMAGE.play()
                 ));
     }
 }
@@ -2,20 +2,28 @@ package dev.isxander.controlify.mixins.feature.rumble.explosion;
 
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.controller.ControllerEntity;
-import dev.isxander.controlify.rumble.BasicRumbleEffect;
 import dev.isxander.controlify.rumble.RumbleSource;
 import dev.isxander.controlify.rumble.RumbleState;
+import dev.isxander.controlify.rumble.RumbleTemplate;
 import dev.isxander.controlify.utils.Easings;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.network.protocol.game.ClientboundExplodePacket;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(ClientPacketListener.class)
 public class ClientPacketListenerMixin {
+    // played scaled by the explosion's magnitude
+    @Unique
+    private static final RumbleTemplate EXPLOSION = RumbleTemplate.join(
+            RumbleTemplate.constant(1f, 1f, 4), // initial boom
+            RumbleTemplate.byTime(t -> new RumbleState(0f, 1 - t), 20) // explosion
+    );
+
     @Inject(method = "handleExplosion", at = @At("RETURN"))
     private void onClientExplosion(ClientboundExplodePacket packet, CallbackInfo ci) {
         float initialMagnitude = calculateMagnitude(packet);
@@ -24,13 +32,7 @@ public class ClientPacketListenerMixin {
                 .flatMap(ControllerEntity::rumble)
                 .ifPresent(rumble -> rumble.rumbleManager().play(
                         RumbleSource.WORLD,
-                        BasicRumbleEffect.join(
-                                BasicRumbleEffect.constant(initialMagnitude, initialMagnitude, 4), // initial boom
-                                BasicRumbleEffect.byTime(t -> {
-                                    float magnitude = calculateMagnitude(packet);
-                                    return new RumbleState(0f, magnitude - t * magnitude);
-                                }, 20) // explosion
-                        )
+                        EXPLOSION.play(initialMagnitude)
                 ));
     }
 
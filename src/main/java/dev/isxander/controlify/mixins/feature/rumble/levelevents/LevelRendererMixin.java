@@ -2,10 +2,10 @@ package dev.isxander.controlify.mixins.feature.rumble.levelevents;
 
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.controller.ControllerEntity;
-import dev.isxander.controlify.rumble.BasicRumbleEffect;
 import dev.isxander.controlify.rumble.RumbleEffect;
 import dev.isxander.controlify.rumble.RumbleSource;
 import dev.isxander.controlify.rumble.RumbleState;
+import dev.isxander.controlify.rumble.RumbleTemplate;
 import dev.isxander.controlify.utils.Easings;
 import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.core.BlockPos;
@@ -18,43 +18,41 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(LevelRenderer.class)
 public class LevelRendererMixin {
+    @Unique
+    private static final RumbleTemplate ANVIL_USED = RumbleTemplate.join(
+            RumbleTemplate.constant(1f, 0.5f, 2),
+            RumbleTemplate.empty(5)
+    ).repeat(3);
+    @Unique
+    private static final RumbleTemplate DRAGON_DEATH = RumbleTemplate.join(
+            RumbleTemplate.constant(1f, 1f, 194),
+            RumbleTemplate.byTime(t -> {
+                float easeOutQuad = Easings.easeOutQuad(t);
+                return new RumbleState(1 - easeOutQuad, 1 - easeOutQuad);
+            }, 63)
+    );
+    @Unique
+    private static final RumbleTemplate WITHER_BOSS_SPAWN = RumbleTemplate.join(
+            RumbleTemplate.constant(1f, 1f, 9),
+            RumbleTemplate.constant(0.1f, 1f, 14),
+            RumbleTemplate.byTime(t -> {
+                float easeOutQuad = 1 - (1 - t) * (1 - t);
+                return new RumbleState(0f, 1 - easeOutQuad);
+            }, 56)
+    );
+
     @Inject(method = "levelEvent", at = @At("HEAD"))
     private void onLevelEvent(int eventId, BlockPos pos, int data, CallbackInfo ci) {
         switch (eventId) {
-            case LevelEvent.SOUND_ANVIL_USED -> rumble(
-                    RumbleSource.GUI,
-                    BasicRumbleEffect.join(
-                            BasicRumbleEffect.constant(1f, 0.5f, 2),
-                            BasicRumbleEffect.empty(5)
-                    ).repeat(3)
-            );
+            case LevelEvent.SOUND_ANVIL_USED -> rumble(RumbleSource.GUI, ANVIL_USED.play());
         }
     }
 
     @Inject(method = "globalLevelEvent", at = @At("HEAD"))
     private void onGlobalLevelEvent(int eventId, BlockPos pos, int data, CallbackInfo ci) {
         switch (eventId) {
-            case LevelEvent.SOUND_DRAGON_DEATH -> rumble(
-                    RumbleSource.WORLD,
-                    BasicRumbleEffect.join(
-                            BasicRumbleEffect.constant(1f, 1f, 194),
-                            BasicRumbleEffect.byTime(t -> {
-                                float easeOutQuad = Easings.easeOutQuad(t);
-                                return new RumbleState(1 - easeOutQuad, 1 - easeOutQuad);
-                            }, 63)
-                    ).prioritised(10)
-            );
-            case LevelEvent.SOUND_WITHER_BOSS_SPAWN -> rumble(
-                    RumbleSource.WORLD,
-                    BasicRumbleEffect.join(
-                            BasicRumbleEffect.constant(1f, 1f, 9),
-                            BasicRumbleEffect.constant(0.1f, 1f, 14),
-                            BasicRumbleEffect.byTime(t -> {
-                                float easeOutQuad = 1 - (1 - t) * (1 - t);
-                                return new RumbleState(0f, 1 - easeOutQuad);
-                            }, 56)
-                    ).prioritised(10)
-            );
+            case LevelEvent.SOUND_DRAGON_DEATH -> rumble(RumbleSource.WORLD, DRAGON_DEATH.play().prioritised(10));
+            case LevelEvent.SOUND_WITHER_BOSS_SPAWN -> rumble(RumbleSource.WORLD, WITHER_BOSS_SPAWN.play().prioritised(10));
         }
     }
 
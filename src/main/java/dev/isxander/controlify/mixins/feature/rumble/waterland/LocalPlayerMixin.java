@@ -2,9 +2,9 @@ package dev.isxander.controlify.mixins.feature.rumble.waterland;
 
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.controller.ControllerEntity;
-import dev.isxander.controlify.rumble.BasicRumbleEffect;
 import dev.isxander.controlify.rumble.RumbleSource;
-import dev.isxander.controlify.rumble.RumbleState;
+import dev.isxander.controlify.rumble.TimedRumbleEffect;
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -12,12 +12,19 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.Objects;
 
 @Mixin(LocalPlayer.class)
 public abstract class LocalPlayerMixin extends PlayerMixin {
+    // a smooth fade sampled in real time, played scaled by the impact force
+    @Unique
+    private static final FloatUnaryOperator SPLASH_STRONG = t -> 1 - t;
+    @Unique
+    private static final FloatUnaryOperator SPLASH_WEAK = t -> 0.5f;
+
     protected LocalPlayerMixin(EntityType<? extends LivingEntity> entityType, Level level) {
         super(entityType, level);
     }
@@ -38,10 +45,8 @@ public abstract class LocalPlayerMixin extends PlayerMixin {
                 float multiplier = Math.min(1, impactForce / 0.5f);
                 rumble.rumbleManager().play(
                         RumbleSource.PLAYER,
-                        BasicRumbleEffect.byTime(
-                                t -> new RumbleState(multiplier * (1 - t), multiplier * 0.5f),
-                                impactForce < 0.25f ? 10 : 20
-                        )
+                        TimedRumbleEffect.byTime(SPLASH_STRONG, SPLASH_WEAK, impactForce < 0.25f ? 0.5f : 1f)
+                                .scaled(multiplier)
                 );
             }
         });
@@ -9,21 +9,33 @@ import java.util.Objects;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
+/**
+ * Plays a {@link RumbleTemplate}, one keyframe per tick. The template's tables are shared, this only
+ * tracks how far through it is.
+ */
 public final class BasicRumbleEffect implements RumbleEffect {
-    private final RumbleState[] keyframes;
+    private static final float TICKS_PER_SECOND = 20f;
+
+    private final RumbleTemplate template;
+    private final float scale;
     private int tick = 0;
-    private boolean finished;
+    private volatile boolean finished;
     private int priority = 0;
     private BooleanSupplier earlyFinishCondition = () -> false;
 
     public BasicRumbleEffect(RumbleState[] keyframes) {
-        this.keyframes = keyframes;
+        this(RumbleTemplate.of(keyframes), 1f);
+    }
+
+    BasicRumbleEffect(RumbleTemplate template, float scale) {
+        this.template = template;
+        this.scale = scale;
     }
 
     @Override
     public void tick() {
         tick++;
-        if (tick >= keyframes.length || earlyFinishCondition.getAsBoolean())
+        if (tick >= template.durationTicks() || earlyFinishCondition.getAsBoolean())
             finished = true;
     }
 
@@ -32,7 +44,38 @@ public final class BasicRumbleEffect implements RumbleEffect {
         if (tick == 0)
             throw new IllegalStateException("Effect hasn't ticked yet.");
 
-        return keyframes[tick - 1];
+        return this.stateAt(tick - 1);
+    }
+
+    /**
+     * Each keyframe is held for a twentieth of a second of real time, however long the client's ticks take.
+     */
+    @Override
+    public RumbleState sample(float seconds) {
+        int keyframe = this.keyframeAt(seconds);
+        return keyframe < 0 ? RumbleState.NONE : this.stateAt(keyframe);
+    }
+
+    @Override
+    public void mix(float seconds, float strength, RumbleMix mix) {
+        int keyframe = this.keyframeAt(seconds);
+        if (keyframe < 0)
+            return;
+
+        float multiplier = scale * strength;
+        mix.add(template.strong(keyframe) * multiplier, template.weak(keyframe) * multiplier);
+    }
+
+    // -1 if nothing plays at that time
+    private int keyframeAt(float seconds) {
+        int keyframe = (int) (seconds * TICKS_PER_SECOND);
+        if (finished || keyframe < 0 || keyframe >= template.durationTicks())
+            return -1;
+        return keyframe;
+    }
+
+    private RumbleState stateAt(int keyframe) {
+        return new RumbleState(template.strong(keyframe) * scale, template.weak(keyframe) * scale);
     }
 
     @Override
@@ -55,8 +98,19 @@ public final class BasicRumbleEffect implements RumbleEffect {
         return this;
     }
 
+    public RumbleTemplate template() {
+        return template.scale(scale);
+    }
+
+    /**
+     * @return a copy of every keyframe, prefer {@link #template()}
+     */
     public RumbleState[] states() {
-        return keyframes;
+        RumbleState[] states = new RumbleState[template.durationTicks()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = this.stateAt(i);
+        }
+        return states;
     }
 
     public BasicRumbleEffect earlyFinish(BooleanSupplier condition) {
@@ -70,13 +124,13 @@ public final class BasicRumbleEffect implements RumbleEffect {
         if (obj == this) return true;
         if (obj == null || obj.getClass() != this.getClass()) return false;
         var that = (BasicRumbleEffect) obj;
-        return Arrays.equals(this.states(), that.states())
+        return this.template().equals(that.template())
                 && this.priority() == that.priority();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.hashCode(this.states()), this.priority());
+        return Objects.hash(this.template(), this.priority());
     }
 
     @Override
@@ -95,35 +149,29 @@ public final class BasicRumbleEffect implements RumbleEffect {
 
         if (count == 1) return this;
 
-        BasicRumbleEffect effect = this;
-        for (int i = 0; i < count - 1; i++) {
-            effect = BasicRumbleEffect.join(effect, this);
-        }
-        return effect;
+        return this.template().repeat(count).play();
     }
 
     /**
      * Creates a rumble effect where the state is determined by the tick.
+     * Effects played often should keep a {@link RumbleTemplate} instead.
      *
      * @param stateFunction the function that takes a tick and returns the state for that tick.
      * @param durationTicks how many ticks the effect should last for.
      */
     public static BasicRumbleEffect byTick(Function<Integer, RumbleState> stateFunction, int durationTicks) {
-        RumbleState[] states = new RumbleState[durationTicks];
-        for (int i = 0; i < durationTicks; i++) {
-            states[i] = stateFunction.apply(i);
-        }
-        return new BasicRumbleEffect(states);
+        return RumbleTemplate.byTick(stateFunction::apply, durationTicks).play();
     }
 
     /**
      * Creates a rumble effect from a function that takes a time value from 0, start, to 1, end, and returns that tick.
+     * Effects played often should keep a {@link RumbleTemplate} instead.
      *
      * @param stateFunction the function that takes the time value and returns the state for that tick.
      * @param durationTicks how many ticks the effect should last for.
      */
     public static BasicRumbleEffect byTime(Function<Float, RumbleState> stateFunction, int durationTicks) {
-        return BasicRumbleEffect.byTick(tick -> stateFunction.apply((float) tick / (float) durationTicks), durationTicks);
+        return RumbleTemplate.byTime(stateFunction, durationTicks).play();
     }
 
     /**
@@ -134,29 +182,20 @@ public final class BasicRumbleEffect implements RumbleEffect {
      * @param durationTicks how many ticks the effect should last for.
      */
     public static BasicRumbleEffect constant(float strong, float weak, int durationTicks) {
-        return BasicRumbleEffect.byTick(tick -> new RumbleState(strong, weak), durationTicks);
+        return RumbleTemplate.constant(strong, weak, durationTicks).play();
     }
 
     public static BasicRumbleEffect empty(int durationTicks) {
-        return BasicRumbleEffect.byTick(tick -> new RumbleState(0f, 0f), durationTicks);
+        return RumbleTemplate.empty(durationTicks).play();
     }
 
     public static BasicRumbleEffect join(BasicRumbleEffect... effects) {
-        int totalTicks = 0;
-        for (BasicRumbleEffect effect : effects) {
-            totalTicks += effect.states().length;
-        }
-
-        RumbleState[] states = new RumbleState[totalTicks];
-        int currentTick = 0;
-        for (BasicRumbleEffect effect : effects) {
-            for (RumbleState state : effect.states()) {
-                states[currentTick] = state;
-                currentTick++;
-            }
+        RumbleTemplate[] templates = new RumbleTemplate[effects.length];
+        for (int i = 0; i < effects.length; i++) {
+            templates[i] = effects[i].template();
         }
 
-        return new BasicRumbleEffect(states);
+        return RumbleTemplate.join(templates).play();
     }
 
     public static BooleanSupplier finishOnScreenChange() {
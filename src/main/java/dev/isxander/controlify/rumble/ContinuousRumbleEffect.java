@@ -1,16 +1,19 @@
 package dev.isxander.controlify.rumble;
 
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.BooleanSupplier;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 public class ContinuousRumbleEffect implements RumbleEffect {
-    private final Function<Integer, RumbleState> stateFunction;
+    private final IntFunction<RumbleState> stateFunction;
+    private final @Nullable Builder.InWorldProperties inWorldProperties;
     private final int priority;
     private final int timeout;
     private final int minTime;
@@ -18,9 +21,17 @@ public class ContinuousRumbleEffect implements RumbleEffect {
     private int age;
     private boolean stopped;
     private BooleanSupplier stopCondition;
+    // published for the rumble mixer thread, which must not call the state function
+    private volatile RumbleState state = RumbleState.NONE;
+    private volatile float multiplier = 1f;
 
-    public ContinuousRumbleEffect(Function<Integer, RumbleState> stateFunction, int priority, int timeout, int minTime, BooleanSupplier stopCondition) {
+    public ContinuousRumbleEffect(IntFunction<RumbleState> stateFunction, int priority, int timeout, int minTime, BooleanSupplier stopCondition) {
+        this(stateFunction, null, priority, timeout, minTime, stopCondition);
+    }
+
+    private ContinuousRumbleEffect(IntFunction<RumbleState> stateFunction, @Nullable Builder.InWorldProperties inWorldProperties, int priority, int timeout, int minTime, BooleanSupplier stopCondition) {
         this.stateFunction = stateFunction;
+        this.inWorldProperties = inWorldProperties;
         this.priority = priority;
         this.timeout = timeout;
         this.minTime = minTime;
@@ -33,6 +44,13 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         age++;
         if (stopCondition.getAsBoolean())
             stop();
+
+        if (isFinished()) {
+            state = RumbleState.NONE;
+        } else {
+            state = stateFunction.apply(tick - 1);
+            multiplier = inWorldProperties != null ? inWorldProperties.multiplier() : 1f;
+        }
     }
 
     @Override
@@ -40,7 +58,18 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         if (tick == 0)
             throw new IllegalStateException("Effect hasn't ticked yet.");
 
-        return stateFunction.apply(tick - 1);
+        return this.sample(0);
+    }
+
+    @Override
+    public RumbleState sample(float seconds) {
+        float multiplier = this.multiplier;
+        return multiplier == 1f ? state : state.mul(multiplier);
+    }
+
+    @Override
+    public void mix(float seconds, float strength, RumbleMix mix) {
+        mix.add(state, strength * multiplier);
     }
 
     public void stop() {
@@ -71,7 +100,7 @@ public class ContinuousRumbleEffect implements RumbleEffect {
     }
 
     public static class Builder {
-        private Function<Integer, RumbleState> stateFunction;
+        private IntFunction<RumbleState> stateFunction;
         private int priority;
         private int timeout = -1;
         private int minTime;
@@ -81,7 +110,7 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         private Builder() {
         }
 
-        public Builder byTick(Function<Integer, RumbleState> stateFunction) {
+        public Builder byTick(IntFunction<RumbleState> stateFunction) {
             this.stateFunction = stateFunction;
             return this;
         }
@@ -114,7 +143,7 @@ public class ContinuousRumbleEffect implements RumbleEffect {
             return this;
         }
 
-        public Builder inWorld(Supplier<Vec3> sourceLocation, float min, float max, float effectRange, Function<Float, Float> fallofFunction) {
+        public Builder inWorld(Supplier<Vec3> sourceLocation, float min, float max, float effectRange, FloatUnaryOperator fallofFunction) {
             this.inWorldProperties = new InWorldProperties(sourceLocation, min, max, effectRange, fallofFunction);
             stopCondition(() -> Minecraft.getInstance().cameraEntity == null);
             return this;
@@ -130,25 +159,17 @@ public class ContinuousRumbleEffect implements RumbleEffect {
             Validate.notNull(stateFunction, "stateFunction cannot be null!");
             Validate.isTrue(minTime <= timeout || timeout == -1, "the minimum time cannot be greater than the timeout!");
 
-            var stateFunction = this.stateFunction;
-            if (inWorldProperties != null)
-                stateFunction = inWorldProperties.modify(stateFunction);
-
-            return new ContinuousRumbleEffect(stateFunction, priority, timeout, minTime, stopCondition);
+            return new ContinuousRumbleEffect(stateFunction, inWorldProperties, priority, timeout, minTime, stopCondition);
         }
 
-        private record InWorldProperties(Supplier<Vec3> sourceLocation, float minMagnitude, float maxMagnitude, float effectRange, Function<Float, Float> fallofFunction) {
-            private Function<Integer, RumbleState> modify(Function<Integer, RumbleState> stateFunction) {
-                return tick -> {
-                    if (Minecraft.getInstance().cameraEntity == null)
-                        return RumbleState.NONE;
-
-                    float distanceSqr = (float) Minecraft.getInstance().cameraEntity.distanceToSqr(sourceLocation.get());
-                    float normalizedDistance = Mth.clamp(distanceSqr / (effectRange * effectRange), 0, 1);
-                    float multiplier = Mth.lerp(fallofFunction.apply(1f - normalizedDistance), minMagnitude, maxMagnitude);
+        private record InWorldProperties(Supplier<Vec3> sourceLocation, float minMagnitude, float maxMagnitude, float effectRange, FloatUnaryOperator fallofFunction) {
+            private float multiplier() {
+                if (Minecraft.getInstance().cameraEntity == null)
+                    return 0f;
 
-                    return stateFunction.apply(tick).mul(multiplier);
-                };
+                float distanceSqr = (float) Minecraft.getInstance().cameraEntity.distanceToSqr(sourceLocation.get());
+                float normalizedDistance = Mth.clamp(distanceSqr / (effectRange * effectRange), 0, 1);
+                return Mth.lerp(fallofFunction.apply(1f - normalizedDistance), minMagnitude, maxMagnitude);
             }
         }
     }
@@ -4,9 +4,35 @@ public interface RumbleEffect extends Comparable<RumbleEffect> {
     void tick();
     RumbleState currentState();
 
+    /**
+     * Samples the effect {@code seconds} after it started playing. This is called by the
+     * {@link RumbleMixerThread} many times per tick, so it must only read immutable data or
+     * state published by {@link #tick()}. By default, the state of the latest tick is held,
+     * and nothing is played until the effect has ticked once.
+     */
+    default RumbleState sample(float seconds) {
+        if (this.age() == 0)
+            return RumbleState.NONE;
+
+        return this.currentState();
+    }
+
+    /**
+     * Adds the effect {@code seconds} after it started playing to {@code mix}, scaled by
+     * {@code strength}. Follows the same rules as {@link #sample(float)}, which it defaults to;
+     * effects override it to mix without creating a {@link RumbleState}.
+     */
+    default void mix(float seconds, float strength, RumbleMix mix) {
+        mix.add(this.sample(seconds), strength);
+    }
+
     boolean isFinished();
 
     int priority();
+
+    /**
+     * @return how many times the effect has been ticked
+     */
     int age();
 
     @Override
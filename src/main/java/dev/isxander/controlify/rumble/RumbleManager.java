@@ -1,21 +1,33 @@
 package dev.isxander.controlify.rumble;
 
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
-import org.jetbrains.annotations.NotNull;
+import dev.isxander.controlify.utils.CUtil;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 public class RumbleManager {
-    private final RumbleComponent controller;
-    private final Queue<RumbleEffectInstance> effectQueue;
+    private static final float NANOS_PER_SECOND = 1e9f;
+    private static final int INITIAL_CAPACITY = 8;
+    // only the current controller is ticked, stop mixing the others rather than holding their last state
+    private static final long STALE_NANOS = TimeUnit.SECONDS.toNanos(1);
 
-    private boolean silent, wasSilent;
+    private final RumbleComponent controller;
+    // guarded by this, effects are ticked on the client thread but may be mixed on the rumble mixer thread.
+    // parallel arrays, indexed by play slot
+    private RumbleSource[] sources = new RumbleSource[INITIAL_CAPACITY];
+    private RumbleEffect[] effects = new RumbleEffect[INITIAL_CAPACITY];
+    private long[] startNanos = new long[INITIAL_CAPACITY];
+    private int effectCount;
+    private final RumbleMix mix = new RumbleMix();
+    private boolean wasSilent;
+    private long lastTickNanos = System.nanoTime();
+
+    private volatile boolean silent;
+    private volatile boolean mixedInBackground;
 
     public RumbleManager(RumbleComponent controller) {
         this.controller = controller;
-        this.effectQueue = new PriorityQueue<>(Comparator.comparing(RumbleEffectInstance::effect));
     }
 
     @Deprecated
@@ -23,64 +35,127 @@ public class RumbleManager {
         play(RumbleSource.MASTER, effect);
     }
 
-    public void play(RumbleSource source, RumbleEffect effect) {
-        effectQueue.add(new RumbleEffectInstance(source, effect));
+    public synchronized void play(RumbleSource source, RumbleEffect effect) {
+        if (effectCount == effects.length) {
+            int capacity = effects.length * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            effects = Arrays.copyOf(effects, capacity);
+            startNanos = Arrays.copyOf(startNanos, capacity);
+        }
+
+        sources[effectCount] = source;
+        effects[effectCount] = effect;
+        startNanos[effectCount] = System.nanoTime();
+        effectCount++;
+
+        if (mixedInBackground)
+            RumbleMixerThread.INSTANCE.wake();
     }
 
+    /**
+     * Runs effect logic once per client tick. Unless the {@link RumbleMixerThread} is
+     * mixing this manager, the rumble is also mixed here.
+     */
     public void tick() {
-        effectQueue.removeIf(e -> e.effect().isFinished());
-        effectQueue.forEach(e -> e.effect().tick());
-
-        if (effectQueue.isEmpty()) {
-            clearRumble();
-            return;
+        boolean wasStale;
+        synchronized (this) {
+            long now = System.nanoTime();
+            wasStale = isStale(now);
+            lastTickNanos = now;
+
+            for (int i = 0; i < effectCount; i++) {
+                if (effects[i].isFinished()) {
+                    removeEffect(i);
+                    i--; // the last effect was swapped into this slot
+                } else {
+                    effects[i].tick();
+                }
+            }
         }
 
-        float strong = 0f, weak = 0f;
-        for (RumbleEffectInstance effect : effectQueue) {
-            RumbleState effectState = controller.config().config().applyRumbleStrength(effect.effect().currentState(), effect.source());
-            strong = Math.max(strong, effectState.strong());
-            weak = Math.max(weak, effectState.weak());
+        if (!mixedInBackground) {
+            mix(System.nanoTime());
+        } else if (wasStale) {
+            RumbleMixerThread.INSTANCE.wake();
         }
-        RumbleState state = new RumbleState(strong, weak);
+    }
 
-        if (state.isZero()) {
+    /**
+     * Samples every playing effect at the given time and queues the loudest magnitudes.
+     * A manager that hasn't been ticked for a while is treated as silent.
+     *
+     * @param nanos the current time, from {@link System#nanoTime()}
+     * @return whether anything is left to mix, false once the rumble has been cleared
+     */
+    public synchronized boolean mix(long nanos) {
+        if (effectCount == 0 || silent || isStale(nanos)) {
             clearRumble();
-            return;
+            return false;
         }
 
-        if (silent) {
+        RumbleComponent.Config config = controller.confObj();
+        mix.reset();
+        for (int i = 0; i < effectCount; i++) {
+            float seconds = (nanos - startNanos[i]) / NANOS_PER_SECOND;
+            try {
+                effects[i].mix(seconds, config.getStrength(sources[i]), mix);
+            } catch (RuntimeException e) {
+                CUtil.LOGGER.error("Failed to mix rumble effect {}, stopping it", effects[i], e);
+                removeEffect(i);
+                i--; // the last effect was swapped into this slot
+            }
+        }
+
+        if (mix.isZero()) {
             clearRumble();
-        } else {
-            controller.queueRumble(state);
-            wasSilent = false;
+            return true;
         }
+
+        controller.queueRumble(mix.strong(), mix.weak());
+        wasSilent = false;
+        return true;
+    }
+
+    private boolean isStale(long nanos) {
+        return nanos - lastTickNanos > STALE_NANOS;
     }
 
     private void clearRumble() {
         if (wasSilent)
             return;
 
-        controller.queueRumble(RumbleState.NONE);
+        controller.queueRumble(0f, 0f);
         wasSilent = true;
     }
 
-    public void clearEffects() {
-        effectQueue.clear();
+    // order doesn't matter when mixing, so fill the gap with the last effect
+    private void removeEffect(int index) {
+        int last = --effectCount;
+        sources[index] = sources[last];
+        effects[index] = effects[last];
+        startNanos[index] = startNanos[last];
+        sources[last] = null;
+        effects[last] = null;
+    }
+
+    public synchronized void clearEffects() {
+        Arrays.fill(sources, 0, effectCount, null);
+        Arrays.fill(effects, 0, effectCount, null);
+        effectCount = 0;
     }
 
     public void setSilent(boolean silent) {
         this.silent = silent;
+
+        if (!silent && mixedInBackground)
+            RumbleMixerThread.INSTANCE.wake();
     }
 
-    public boolean isPlaying() {
-        return !effectQueue.isEmpty();
+    public synchronized boolean isPlaying() {
+        return effectCount > 0;
     }
 
-    private record RumbleEffectInstance(RumbleSource source, RumbleEffect effect) implements Comparable<RumbleEffectInstance> {
-        @Override
-        public int compareTo(@NotNull RumbleManager.RumbleEffectInstance o) {
-            return effect.compareTo(o.effect);
-        }
+    void setMixedInBackground(boolean mixedInBackground) {
+        this.mixedInBackground = mixedInBackground;
     }
 }
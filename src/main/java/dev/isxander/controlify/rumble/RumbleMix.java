@@ -0,0 +1,34 @@
+package dev.isxander.controlify.rumble;
+
+/**
+ * Accumulates the loudest strong and weak motor magnitudes of every effect being mixed.
+ */
+public final class RumbleMix {
+    private float strong, weak;
+
+    public void add(float strong, float weak) {
+        this.strong = Math.max(this.strong, strong);
+        this.weak = Math.max(this.weak, weak);
+    }
+
+    public void add(RumbleState state, float strength) {
+        this.add(state.strong() * strength, state.weak() * strength);
+    }
+
+    public void reset() {
+        this.strong = 0f;
+        this.weak = 0f;
+    }
+
+    public float strong() {
+        return this.strong;
+    }
+
+    public float weak() {
+        return this.weak;
+    }
+
+    public boolean isZero() {
+        return this.strong == 0f && this.weak == 0f;
+    }
+}
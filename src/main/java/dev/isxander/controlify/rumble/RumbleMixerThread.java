@@ -0,0 +1,115 @@
+package dev.isxander.controlify.rumble;
+
+import dev.isxander.controlify.utils.CUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixes the rumble of every controller with a direct rumble output at a fixed rate,
+ * independent of the client tick. Effects keep their real-time length through lag spikes
+ * and can change many times per tick.
+ * <p>
+ * Effect logic (stop conditions, in-world falloff etc.) still runs on the client tick,
+ * the mixer only samples effects through {@link RumbleEffect#sample(float)}.
+ * <p>
+ * The thread sleeps while no manager has anything to mix, until an effect is played.
+ * Managers that stop being ticked, like those of controllers that are no longer in use,
+ * fall silent rather than holding their last state.
+ * <p>
+ * Managers must be removed before their output is closed; removal waits for any
+ * in-flight mix so an output is never written after it is freed.
+ */
+public final class RumbleMixerThread {
+    public static final RumbleMixerThread INSTANCE = new RumbleMixerThread();
+
+    public static final int RATE = 250;
+
+    private final Object lock = new Object();
+    private final List<RumbleManager> managers = new ArrayList<>();
+    private volatile Thread thread;
+    private volatile boolean failed;
+
+    private RumbleMixerThread() {
+    }
+
+    /**
+     * Starts mixing the manager on the mixer thread. If the mixer has failed, the
+     * manager keeps mixing once per tick instead.
+     */
+    public void add(RumbleManager manager) {
+        if (failed) return;
+
+        synchronized (lock) {
+            managers.add(manager);
+            manager.setMixedInBackground(true);
+
+            if (thread == null) {
+                thread = new Thread(this::run, "Controlify Rumble Mixer");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Wakes the thread if it is sleeping, because a manager has something to mix again.
+     */
+    void wake() {
+        Thread thread = this.thread;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    public void remove(RumbleManager manager) {
+        synchronized (lock) {
+            if (managers.remove(manager)) {
+                manager.setMixedInBackground(false);
+            }
+        }
+    }
+
+    private void run() {
+        long nextMix = System.nanoTime();
+
+        while (true) {
+            boolean idle = true;
+            synchronized (lock) {
+                try {
+                    long now = System.nanoTime();
+                    for (int i = 0; i < managers.size(); i++) {
+                        if (managers.get(i).mix(now))
+                            idle = false;
+                    }
+                } catch (Throwable t) {
+                    CUtil.LOGGER.error("Rumble mixer failed, falling back to mixing every tick", t);
+                    failed = true;
+                    managers.forEach(manager -> manager.setMixedInBackground(false));
+                    managers.clear();
+                    thread = null;
+                    return;
+                }
+            }
+
+            if (idle) {
+                // nothing to mix, sleep until an effect is played
+                LockSupport.park(this);
+                nextMix = System.nanoTime();
+                continue;
+            }
+
+            nextMix += TimeUnit.SECONDS.toNanos(1) / RATE;
+            long now = System.nanoTime();
+            if (nextMix - now > 0) {
+                LockSupport.parkNanos(this, nextMix - now);
+            } else {
+                // fell behind, don't try to catch up with a burst of mixes
+                nextMix = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dev.isxander.controlify.rumble;
+
+import dev.isxander.controlify.controller.rumble.RumbleComponent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Sits between the rumble mixer and a driver's motors, so only changes the controller can
+ * actually feel reach it. Every write is a native call, and over Bluetooth an output report.
+ * <ul>
+ *     <li>magnitudes are quantised to the 8-bit resolution of the motors, and values that
+ *     quantise to what was last sent are dropped.</li>
+ *     <li>changes within the minimum interval of the last write are held back, and the latest
+ *     one is written once the interval passes. Stopping is never held back.</li>
+ *     <li>a constant rumble is re-sent before the driver's rumble duration runs out.</li>
+ * </ul>
+ * Pending changes are only written when a later value arrives, which the mixer guarantees
+ * by mixing every pass while an effect plays.
+ */
+public final class RumbleOutputFilter implements RumbleComponent.Output {
+    /**
+     * SDL takes 16-bit magnitudes, but its DualSense, DualShock 4, Xbox and Switch drivers
+     * all send the motors just the top 8 bits.
+     */
+    private static final int MAX_MAGNITUDE = 0xFF;
+    /** comfortably inside the 5 second duration drivers write rumble with */
+    private static final long KEEPALIVE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final RumbleComponent.Output output;
+    private final IntSupplier minIntervalMillis;
+
+    private boolean hasWritten;
+    private int writtenStrong, writtenWeak;
+    private long writtenNanos;
+
+    public RumbleOutputFilter(RumbleComponent.Output output, IntSupplier minIntervalMillis) {
+        this.output = output;
+        this.minIntervalMillis = minIntervalMillis;
+    }
+
+    @Override
+    public synchronized void rumble(float strong, float weak) {
+        int quantStrong = quantise(strong);
+        int quantWeak = quantise(weak);
+        boolean stopping = quantStrong == 0 && quantWeak == 0;
+
+        long now = System.nanoTime();
+        long sinceWrite = now - writtenNanos;
+
+        if (hasWritten && quantStrong == writtenStrong && quantWeak == writtenWeak) {
+            // unchanged, only keep a constant rumble alive
+            if (stopping || sinceWrite < KEEPALIVE_NANOS)
+                return;
+        } else if (hasWritten && !stopping && sinceWrite < TimeUnit.MILLISECONDS.toNanos(minIntervalMillis.getAsInt())) {
+            // coalesce, the next value after the interval supersedes this one
+            return;
+        }
+
+        writtenStrong = quantStrong;
+        writtenWeak = quantWeak;
+        writtenNanos = now;
+        hasWritten = true;
+        output.rumble(quantStrong / (float) MAX_MAGNITUDE, quantWeak / (float) MAX_MAGNITUDE);
+    }
+
+    private static int quantise(float magnitude) {
+        if (!(magnitude > 0f)) return 0; // also catches NaN
+        if (magnitude >= 1f) return MAX_MAGNITUDE;
+        return Math.round(magnitude * MAX_MAGNITUDE);
+    }
+}
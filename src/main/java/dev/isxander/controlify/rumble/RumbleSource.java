@@ -8,7 +8,10 @@ import net.minecraft.resources.ResourceLocation;
 
 import java.util.*;
 
-public record RumbleSource(ResourceLocation id) {
+/**
+ * @param index a dense id, in registration order, for looking sources up in arrays
+ */
+public record RumbleSource(ResourceLocation id, int index) {
     public static final Codec<RumbleSource> CODEC = ResourceLocation.CODEC
             .xmap(RumbleSource::get, RumbleSource::id);
 
@@ -53,7 +56,11 @@ public record RumbleSource(ResourceLocation id) {
     }
 
     public static RumbleSource register(ResourceLocation id) {
-        var source = new RumbleSource(id);
+        var existing = SOURCES.get(id);
+        if (existing != null)
+            return existing;
+
+        var source = new RumbleSource(id, SOURCES.size());
         SOURCES.put(id, source);
         return source;
     }
@@ -0,0 +1,211 @@
+package dev.isxander.controlify.rumble;
+
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * The immutable keyframes of a {@link BasicRumbleEffect}, one strong and one weak magnitude per tick.
+ * <p>
+ * Templates are meant to be built once and played many times. Every {@link #play()} shares the same
+ * tables and only allocates the effect that tracks how far through it is playing, so effects that fire
+ * constantly, like block breaking or taking damage, should keep their template in a static field.
+ * Simple templates from {@link #constant(float, float, int)} and {@link #empty(int)} are interned.
+ */
+public final class RumbleTemplate {
+    private static final int MAX_INTERNED = 256;
+    private static final Map<RumbleTemplate, RumbleTemplate> INTERNED = new ConcurrentHashMap<>();
+
+    private final float[] strong;
+    private final float[] weak;
+    private final int hash;
+
+    private RumbleTemplate(float[] strong, float[] weak) {
+        this.strong = strong;
+        this.weak = weak;
+        this.hash = 31 * Arrays.hashCode(strong) + Arrays.hashCode(weak);
+    }
+
+    public int durationTicks() {
+        return strong.length;
+    }
+
+    public float strong(int tick) {
+        return strong[tick];
+    }
+
+    public float weak(int tick) {
+        return weak[tick];
+    }
+
+    public RumbleState state(int tick) {
+        return new RumbleState(strong[tick], weak[tick]);
+    }
+
+    public BasicRumbleEffect play() {
+        return new BasicRumbleEffect(this, 1f);
+    }
+
+    /**
+     * Plays the template with every magnitude multiplied by {@code scale}, for effects whose shape is
+     * fixed but whose strength isn't, such as explosions that get weaker with distance.
+     */
+    public BasicRumbleEffect play(float scale) {
+        return new BasicRumbleEffect(this, scale);
+    }
+
+    /**
+     * @return the canonical equal template, this one if none has been interned yet
+     */
+    public RumbleTemplate intern() {
+        RumbleTemplate interned = INTERNED.get(this);
+        if (interned != null)
+            return interned;
+
+        // templates from arbitrary magnitudes would otherwise be kept forever
+        if (INTERNED.size() >= MAX_INTERNED)
+            return this;
+
+        interned = INTERNED.putIfAbsent(this, this);
+        return interned != null ? interned : this;
+    }
+
+    public RumbleTemplate scale(float scale) {
+        if (scale == 1f) return this;
+
+        float[] strong = new float[this.strong.length];
+        float[] weak = new float[this.weak.length];
+        for (int i = 0; i < strong.length; i++) {
+            strong[i] = this.strong[i] * scale;
+            weak[i] = this.weak[i] * scale;
+        }
+        return new RumbleTemplate(strong, weak);
+    }
+
+    public RumbleTemplate join(RumbleTemplate other) {
+        return RumbleTemplate.join(this, other);
+    }
+
+    public RumbleTemplate repeat(int count) {
+        Validate.isTrue(count > 0, "count must be greater than 0");
+
+        if (count == 1) return this;
+
+        int length = strong.length;
+        float[] strong = new float[length * count];
+        float[] weak = new float[length * count];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(this.strong, 0, strong, i * length, length);
+            System.arraycopy(this.weak, 0, weak, i * length, length);
+        }
+        return new RumbleTemplate(strong, weak);
+    }
+
+    /**
+     * Creates a template where the state is determined by the tick.
+     *
+     * @param stateFunction the function that takes a tick and returns the state for that tick.
+     * @param durationTicks how many ticks the template should last for.
+     */
+    public static RumbleTemplate byTick(IntFunction<RumbleState> stateFunction, int durationTicks) {
+        float[] strong = new float[durationTicks];
+        float[] weak = new float[durationTicks];
+        for (int i = 0; i < durationTicks; i++) {
+            RumbleState state = stateFunction.apply(i);
+            strong[i] = state.strong();
+            weak[i] = state.weak();
+        }
+        return new RumbleTemplate(strong, weak);
+    }
+
+    /**
+     * Creates a template from a function that takes a time value from 0, start, to 1, end, and returns the state at that time.
+     *
+     * @param stateFunction the function that takes the time value and returns the state for that tick.
+     * @param durationTicks how many ticks the template should last for.
+     */
+    public static RumbleTemplate byTime(Function<Float, RumbleState> stateFunction, int durationTicks) {
+        return RumbleTemplate.byTick(tick -> stateFunction.apply((float) tick / (float) durationTicks), durationTicks);
+    }
+
+    /**
+     * Like {@link #byTime(Function, int)}, with a separate curve for each motor.
+     */
+    public static RumbleTemplate byTime(FloatUnaryOperator strongCurve, FloatUnaryOperator weakCurve, int durationTicks) {
+        float[] strong = new float[durationTicks];
+        float[] weak = new float[durationTicks];
+        for (int i = 0; i < durationTicks; i++) {
+            float t = (float) i / (float) durationTicks;
+            strong[i] = strongCurve.apply(t);
+            weak[i] = weakCurve.apply(t);
+        }
+        return new RumbleTemplate(strong, weak);
+    }
+
+    /**
+     * Creates an interned template that has a constant state.
+     *
+     * @param strong        the strong motor magnitude.
+     * @param weak          the weak motor magnitude
+     * @param durationTicks how many ticks the template should last for.
+     */
+    public static RumbleTemplate constant(float strong, float weak, int durationTicks) {
+        float[] strongTable = new float[durationTicks];
+        float[] weakTable = new float[durationTicks];
+        Arrays.fill(strongTable, strong);
+        Arrays.fill(weakTable, weak);
+        return new RumbleTemplate(strongTable, weakTable).intern();
+    }
+
+    public static RumbleTemplate empty(int durationTicks) {
+        return RumbleTemplate.constant(0f, 0f, durationTicks);
+    }
+
+    public static RumbleTemplate of(RumbleState[] keyframes) {
+        return RumbleTemplate.byTick(tick -> keyframes[tick], keyframes.length);
+    }
+
+    public static RumbleTemplate join(RumbleTemplate... templates) {
+        int totalTicks = 0;
+        for (RumbleTemplate template : templates) {
+            totalTicks += template.durationTicks();
+        }
+
+        float[] strong = new float[totalTicks];
+        float[] weak = new float[totalTicks];
+        int currentTick = 0;
+        for (RumbleTemplate template : templates) {
+            System.arraycopy(template.strong, 0, strong, currentTick, template.durationTicks());
+            System.arraycopy(template.weak, 0, weak, currentTick, template.durationTicks());
+            currentTick += template.durationTicks();
+        }
+
+        return new RumbleTemplate(strong, weak);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof RumbleTemplate that)) return false;
+        return this.hash == that.hash
+                && Arrays.equals(this.strong, that.strong)
+                && Arrays.equals(this.weak, that.weak);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RumbleTemplate[" +
+                "strong=" + Arrays.toString(strong) + ',' +
+                "weak=" + Arrays.toString(weak) + ']';
+    }
+}
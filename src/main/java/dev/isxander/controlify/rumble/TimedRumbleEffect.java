@@ -0,0 +1,114 @@
+package dev.isxander.controlify.rumble;
+
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
+import org.apache.commons.lang3.Validate;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A rumble effect described by a curve over real time rather than a keyframe per tick.
+ * The curve is sampled at the {@link RumbleMixerThread}'s rate, so it can change far faster
+ * than the client ticks and keeps its timing through lag spikes.
+ * <p>
+ * The curves are called from the mixer thread and must not touch game state.
+ */
+public final class TimedRumbleEffect implements RumbleEffect {
+    private static final float TICKS_PER_SECOND = 20f;
+
+    private final FloatUnaryOperator strongCurve, weakCurve;
+    private final float durationSeconds;
+    private int tick;
+    private volatile boolean finished;
+    private int priority;
+    private float scale = 1f;
+    private BooleanSupplier earlyFinishCondition = () -> false;
+
+    private TimedRumbleEffect(FloatUnaryOperator strongCurve, FloatUnaryOperator weakCurve, float durationSeconds) {
+        this.strongCurve = strongCurve;
+        this.weakCurve = weakCurve;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * @param strongCurve takes the progress through the effect, from 0, start, to 1, end, and returns the strong motor magnitude at that point.
+     * @param weakCurve the same as strongCurve, for the weak motor.
+     * @param durationSeconds how long the effect lasts for in seconds.
+     */
+    public static TimedRumbleEffect byTime(FloatUnaryOperator strongCurve, FloatUnaryOperator weakCurve, float durationSeconds) {
+        Validate.isTrue(durationSeconds > 0, "duration must be greater than 0");
+
+        return new TimedRumbleEffect(strongCurve, weakCurve, durationSeconds);
+    }
+
+    @Override
+    public void tick() {
+        tick++;
+        if (tick / TICKS_PER_SECOND >= durationSeconds || earlyFinishCondition.getAsBoolean())
+            finished = true;
+    }
+
+    @Override
+    public RumbleState currentState() {
+        if (tick == 0)
+            throw new IllegalStateException("Effect hasn't ticked yet.");
+
+        return this.sample((tick - 1) / TICKS_PER_SECOND);
+    }
+
+    @Override
+    public RumbleState sample(float seconds) {
+        if (isSilentAt(seconds))
+            return RumbleState.NONE;
+
+        float progress = seconds / durationSeconds;
+        return new RumbleState(strongCurve.apply(progress) * scale, weakCurve.apply(progress) * scale);
+    }
+
+    @Override
+    public void mix(float seconds, float strength, RumbleMix mix) {
+        if (isSilentAt(seconds))
+            return;
+
+        float progress = seconds / durationSeconds;
+        strength *= scale;
+        mix.add(strongCurve.apply(progress) * strength, weakCurve.apply(progress) * strength);
+    }
+
+    private boolean isSilentAt(float seconds) {
+        return finished || seconds < 0 || seconds >= durationSeconds;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int priority() {
+        return priority;
+    }
+
+    @Override
+    public int age() {
+        return tick;
+    }
+
+    public TimedRumbleEffect prioritised(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Multiplies both curves, so effects can share them while varying in strength.
+     */
+    public TimedRumbleEffect scaled(float scale) {
+        this.scale = scale;
+        return this;
+    }
+
+    public TimedRumbleEffect earlyFinish(BooleanSupplier condition) {
+        var current = earlyFinishCondition;
+        this.earlyFinishCondition = () -> current.getAsBoolean() || condition.getAsBoolean();
+        return this;
+    }
+}
@@ -7,11 +7,10 @@ import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
 import net.minecraft.ReportedException;
 import net.minecraft.util.Mth;
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
 import org.joml.Vector2f;
 
-import java.util.List;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 
 public class ControllerUtils {
     public static String createControllerString(ControllerEntity controller) {
@@ -57,6 +56,18 @@ public class ControllerUtils {
         );
     }
 
+    /**
+     * Like {@link #applyEasingToLength(float, float, Function)} but writes into {@code dest} instead of allocating.
+     */
+    public static Vector2f applyEasingToLength(float x, float y, FloatUnaryOperator easing, Vector2f dest) {
+        float length = Mth.sqrt(x * x + y * y);
+        if (length == 0) {
+            return dest.zero();
+        }
+        float scale = easing.apply(length) / length;
+        return dest.set(x * scale, y * scale);
+    }
+
     public static boolean shouldApplyAntiSnapBack(float x, float y, float px, float py, float threshold) {
         float dx = x - px;
         float dy = y - py;
@@ -81,19 +92,31 @@ public class ControllerUtils {
         return false;
     }
 
-    public static List<TouchpadState.Finger> deltaFingers(List<TouchpadState.Finger> now, List<TouchpadState.Finger> then) {
-        if (now.size() != then.size()) {
-            return List.of();
+    /**
+     * Writes how far each finger moved between {@code then} and {@code now} into {@code dest}.
+     * If any finger was lifted or placed in between, {@code dest} is left empty.
+     */
+    public static TouchpadState deltaFingers(TouchpadState now, TouchpadState then, TouchpadState dest) {
+        dest.clear();
+
+        int count = now.fingerCount();
+        if (count != then.fingerCount()) {
+            return dest;
+        }
+        for (int i = 0; i < count; i++) {
+            if (now.slot(i) != then.slot(i)) {
+                return dest;
+            }
         }
 
-        return IntStream.range(0, now.size())
-                .mapToObj(i -> new TouchpadState.Finger(
-                        new Vector2f(
-                                now.get(i).position().x() - then.get(i).position().x(),
-                                now.get(i).position().y() - then.get(i).position().y()
-                        ),
-                        now.get(i).pressure() - then.get(i).pressure()
-                ))
-                .toList();
+        for (int i = 0; i < count; i++) {
+            dest.addFinger(
+                    now.slot(i),
+                    now.x(i) - then.x(i),
+                    now.y(i) - then.y(i),
+                    now.pressure(i) - then.pressure(i)
+            );
+        }
+        return dest;
     }
 }
@@ -0,0 +1,97 @@
+package dev.isxander.controlify.utils;
+
+/**
+ * A resizable ring buffer of primitive floats, keeping the most recent values.
+ * Alongside the values, a bitmask records whether each of the last 64 values
+ * was above a threshold, so digital reads are a shift and a mask.
+ */
+public class FloatRingBuffer {
+    private float[] elements;
+    private int head;
+    private int size;
+
+    private long digitalBits;
+    private float threshold;
+
+    public FloatRingBuffer(int initialSize, float threshold) {
+        if (initialSize < 1)
+            throw new IllegalArgumentException("Size must be at least 1");
+
+        this.elements = new float[initialSize];
+        this.size = initialSize;
+        this.head = 0;
+        this.threshold = threshold;
+    }
+
+    public void push(float element) {
+        head = head + 1 == size ? 0 : head + 1;
+        elements[head] = element;
+        digitalBits = (digitalBits << 1) | (element > threshold ? 1L : 0L);
+    }
+
+    /**
+     * @param history 0 for the most recently pushed value, 1 for the one before, etc.
+     */
+    public float get(int history) {
+        int index = head - history;
+        if (index < 0) index += size;
+        return elements[index];
+    }
+
+    /**
+     * @return whether the value pushed {@code history} pushes ago was above the threshold
+     */
+    public boolean getDigital(int history) {
+        if (history < Long.SIZE)
+            return ((digitalBits >>> history) & 1L) != 0;
+
+        return get(history) > threshold;
+    }
+
+    /**
+     * @return the digital state of the last 64 values, bit 0 being the most recent
+     */
+    public long digitalBits() {
+        return digitalBits;
+    }
+
+    public void setThreshold(float threshold) {
+        if (this.threshold == threshold)
+            return;
+
+        this.threshold = threshold;
+
+        long bits = 0;
+        int count = Math.min(size, Long.SIZE);
+        for (int i = count - 1; i >= 0; i--) {
+            bits = (bits << 1) | (get(i) > threshold ? 1L : 0L);
+        }
+        this.digitalBits = bits;
+    }
+
+    public void setSize(int newSize) {
+        if (newSize < 1)
+            throw new IllegalArgumentException("Size must be at least 1");
+        if (this.size == newSize)
+            return;
+
+        float[] newElements = new float[newSize];
+        int kept = Math.min(size, newSize);
+        // oldest kept value goes first so the newest ends up at the head
+        for (int i = 0; i < kept; i++) {
+            newElements[kept - 1 - i] = get(i);
+        }
+
+        this.elements = newElements;
+        this.head = kept - 1;
+        this.size = newSize;
+
+        // values that weren't kept read as 0 now, so their bits must too
+        if (kept < Long.SIZE)
+            this.digitalBits &= (1L << kept) - 1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+}
@@ -23,6 +23,7 @@ import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.ControllerUtils;
 import dev.isxander.controlify.utils.HoldRepeatHelper;
 import dev.isxander.controlify.utils.ToastUtils;
+import it.unimi.dsi.fastutil.floats.FloatUnaryOperator;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.navigation.ScreenAxis;
@@ -35,8 +36,6 @@ import org.lwjgl.glfw.GLFW;
 
 import java.lang.Math;
 import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 public class VirtualMouseHandler {
@@ -47,7 +46,10 @@ public class VirtualMouseHandler {
 
     private double scrollX, scrollY;
 
+    private static final FloatUnaryOperator FINGER_EASING = x -> (float) Math.pow(x, 1.5);
+
     private float prevXFinger, prevYFinger;
+    private final Vector2f fingerImpulse = new Vector2f(), prevFingerImpulse = new Vector2f();
 
     private final Minecraft minecraft;
     private boolean virtualMouseEnabled;
@@ -78,19 +80,14 @@ public class VirtualMouseHandler {
         }
 
         InputComponent input = controller.input().orElseThrow();
-        Optional<TouchpadComponent> touchpad = controller.touchpad();
-
-        List<TouchpadState.Finger> fingerDeltas = touchpad.map(state -> ControllerUtils.deltaFingers(
-                state.fingersNow(),
-                state.fingersThen()
-        )).orElse(List.of());
+        TouchpadComponent touchpad = controller.touchpad().orElse(null);
 
         float xImpulseFinger = 0;
         float yImpulseFinger = 0;
-        if (!fingerDeltas.isEmpty()) {
-            TouchpadState.Finger finger = fingerDeltas.get(0);
-            xImpulseFinger = finger.position().x();
-            yImpulseFinger = finger.position().y();
+        if (touchpad != null && !touchpad.fingerDeltas().isEmpty()) {
+            TouchpadState fingerDeltas = touchpad.fingerDeltas();
+            xImpulseFinger = fingerDeltas.x(0);
+            yImpulseFinger = fingerDeltas.y(0);
 
             // finger pos is in range 0-1, so we need to scale it up loads
             xImpulseFinger *= 20;
@@ -115,8 +112,8 @@ public class VirtualMouseHandler {
                 x -> (float) Math.pow(x, 3)
         );
 
-        Vector2f fingerImpulse = ControllerUtils.applyEasingToLength(xImpulseFinger, yImpulseFinger, x -> (float) Math.pow(x, 1.5));
-        Vector2f prevFingerImpulse = ControllerUtils.applyEasingToLength(prevXFinger, prevYFinger, x -> (float) Math.pow(x, 1.5));
+        Vector2f fingerImpulse = ControllerUtils.applyEasingToLength(xImpulseFinger, yImpulseFinger, FINGER_EASING, this.fingerImpulse);
+        Vector2f prevFingerImpulse = ControllerUtils.applyEasingToLength(prevXFinger, prevYFinger, FINGER_EASING, this.prevFingerImpulse);
 
         impulse.add(fingerImpulse);
         prevImpulse.add(prevFingerImpulse);
@@ -178,21 +175,20 @@ public class VirtualMouseHandler {
         var mouseHandler = (MouseHandlerAccessor) minecraft.mouseHandler;
         var keyboardHandler = (KeyboardHandlerAccessor) minecraft.keyboardHandler;
 
-        Optional<TouchpadComponent> touchpad = controller.touchpad();
-        List<TouchpadState.Finger> touchpadState = touchpad.map(TouchpadComponent::fingersNow).orElse(List.of());
-        List<TouchpadState.Finger> prevTouchpadState = touchpad.map(TouchpadComponent::fingersThen).orElse(List.of());
+        TouchpadComponent touchpad = controller.touchpad().orElse(null);
+        int touchpadFingers = touchpad != null ? touchpad.fingersNow().fingerCount() : 0;
 
         InputComponent input = controller.input().orElseThrow();
         boolean touchpadPressed = input.stateNow().isButtonDown(GamepadInputs.TOUCHPAD_BUTTON);
         boolean prevTouchpadPressed = input.stateThen().isButtonDown(GamepadInputs.TOUCHPAD_BUTTON);
 
-        if (ControlifyBindings.VMOUSE_LCLICK.on(controller).justPressed() || (touchpadPressed && !prevTouchpadPressed && touchpadState.size() == 1)) {
+        if (ControlifyBindings.VMOUSE_LCLICK.on(controller).justPressed() || (touchpadPressed && !prevTouchpadPressed && touchpadFingers == 1)) {
             mouseHandler.invokeOnPress(minecraft.getWindow().getWindow(), GLFW.GLFW_MOUSE_BUTTON_LEFT, GLFW.GLFW_PRESS, 0);
         } else if (ControlifyBindings.VMOUSE_LCLICK.on(controller).justReleased() || (!touchpadPressed && prevTouchpadPressed)) {
             mouseHandler.invokeOnPress(minecraft.getWindow().getWindow(), GLFW.GLFW_MOUSE_BUTTON_LEFT, GLFW.GLFW_RELEASE, 0);
         }
 
-        if (ControlifyBindings.VMOUSE_RCLICK.on(controller).justPressed() || (touchpadPressed && !prevTouchpadPressed && touchpadState.size() == 2)) {
+        if (ControlifyBindings.VMOUSE_RCLICK.on(controller).justPressed() || (touchpadPressed && !prevTouchpadPressed && touchpadFingers == 2)) {
             mouseHandler.invokeOnPress(minecraft.getWindow().getWindow(), GLFW.GLFW_MOUSE_BUTTON_RIGHT, GLFW.GLFW_PRESS, 0);
         } else if (ControlifyBindings.VMOUSE_RCLICK.on(controller).justReleased() || (!touchpadPressed && prevTouchpadPressed)) {
             mouseHandler.invokeOnPress(minecraft.getWindow().getWindow(), GLFW.GLFW_MOUSE_BUTTON_RIGHT, GLFW.GLFW_RELEASE, 0);